@@ -0,0 +1,102 @@
+package pet.odyvanck.petclinic.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.web.controller.GlobalExceptionHandler;
+import pet.odyvanck.petclinic.web.dto.ErrorResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 404 for a missing owner, as scrapers probing random ids cause: exception, handler and serialization.
+ * "Before" variants are exception with filled stack trace and serialization by Jackson.
+ * Exceptions are created under {@code depth} frames, about as deep as a controller call is in Tomcat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    @Param({"100"})
+    private int depth;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final String id = UUID.randomUUID().toString();
+    private ObjectMapper objectMapper;
+    private ErrorResponseMessageConverter converter;
+    private ErrorResponse notFound;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new ErrorResponseMessageConverter(objectMapper);
+        notFound = new ErrorResponse(HttpStatus.NOT_FOUND, "Owner with id '" + id + "' not found");
+        out = new ByteArrayOutputStream(256);
+    }
+
+    @Benchmark
+    public RuntimeException createExceptionWithStackTrace() {
+        return atDepth(depth, () -> new RuntimeException(String.format("%s with %s '%s' not found", "Owner", "id", id)));
+    }
+
+    @Benchmark
+    public RuntimeException createDomainException() {
+        return atDepth(depth, () -> new EntityNotFoundException("Owner", "id", id));
+    }
+
+    @Benchmark
+    public byte[] serializeWithJackson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(notFound);
+    }
+
+    @Benchmark
+    public int serializeWithConverter() throws IOException {
+        out.reset();
+        converter.write(notFound, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public byte[] notFoundBefore() throws JsonProcessingException {
+        RuntimeException ex = atDepth(depth, () ->
+                new RuntimeException(String.format("%s with %s '%s' not found", "Owner", "id", id)));
+        return objectMapper.writeValueAsBytes(new ErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage()));
+    }
+
+    @Benchmark
+    public int notFound() throws IOException {
+        EntityNotFoundException ex = atDepth(depth, () -> new EntityNotFoundException("Owner", "id", id));
+        out.reset();
+        converter.write(handler.handleEntityNotFound(ex).getBody(), out);
+        return out.size();
+    }
+
+    private static <T> T atDepth(int depth, Supplier<T> supplier) {
+        return depth == 0 ? supplier.get() : atDepth(depth - 1, supplier);
+    }
+}
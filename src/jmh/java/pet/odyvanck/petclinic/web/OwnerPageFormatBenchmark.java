@@ -0,0 +1,99 @@
+package pet.odyvanck.petclinic.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.PageResponse;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import pet.odyvanck.petclinic.web.mapper.OwnerMapperImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk page of owners written in every response format, with and without gzip the server applies.
+ * Time is serialization and compression CPU; bytes on the wire are printed once per trial,
+ * as they don't change between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerPageFormatBenchmark {
+
+    public enum Format {
+        JSON(new JsonFactory()),
+        SMILE(new SmileFactory()),
+        CBOR(new CBORFactory());
+
+        private final JsonFactory factory;
+
+        Format(JsonFactory factory) {
+            this.factory = factory;
+        }
+    }
+
+    public enum Compression {
+        NONE,
+        GZIP
+    }
+
+    @Param({"500"})
+    private int pageSize;
+
+    @Param
+    private Format format;
+
+    @Param
+    private Compression compression;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<OwnerResponse> pageResponse;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(format.factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        var owners = IntStream.range(0, pageSize).mapToObj(OwnerResponseBenchmark::owner).toList();
+        var page = new PageImpl<>(new OwnerMapperImpl().toDto(owners), PageRequest.of(0, pageSize), 10_000);
+        pageResponse = PageResponse.from(page, CountMode.EXACT, Function.identity());
+        buffer = new ByteArrayOutputStream(256 * pageSize);
+
+        System.out.printf("%n%s %s: %d bytes on the wire%n", format, compression, serializePage());
+    }
+
+    @Benchmark
+    public int serializePage() throws IOException {
+        buffer.reset();
+        OutputStream out = compression == Compression.GZIP ? new GZIPOutputStream(buffer) : buffer;
+        objectMapper.writeValue(out, pageResponse);
+        return buffer.size();
+    }
+}
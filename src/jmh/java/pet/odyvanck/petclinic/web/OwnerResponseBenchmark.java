@@ -0,0 +1,139 @@
+package pet.odyvanck.petclinic.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.domain.UserStatus;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.ErrorResponse;
+import pet.odyvanck.petclinic.web.dto.PageResponse;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import pet.odyvanck.petclinic.web.mapper.OwnerMapper;
+import pet.odyvanck.petclinic.web.mapper.OwnerMapperImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Response building done for every owner request: mapping, page wrapping and serialization.
+ * Object mapper is configured like the one of Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerResponseBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private final OwnerMapper mapper = new OwnerMapperImpl();
+    private ObjectMapper objectMapper;
+    private Owner owner;
+    private List<Owner> owners;
+    private OwnerResponse response;
+    private PageImpl<OwnerResponse> page;
+    private PageResponse<OwnerResponse> pageResponse;
+    private ErrorResponse notFound;
+    private ErrorResponse validationErrors;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        owners = IntStream.range(0, pageSize).mapToObj(OwnerResponseBenchmark::owner).toList();
+        owner = owners.getFirst();
+        response = mapper.toDto(owner);
+        page = new PageImpl<>(mapper.toDto(owners), PageRequest.of(3, pageSize), 10_000);
+        pageResponse = PageResponse.from(page, CountMode.EXACT, Function.identity());
+        notFound = new ErrorResponse(HttpStatus.NOT_FOUND, "Owner with id '" + owner.getId() + "' not found");
+        validationErrors = new ErrorResponse(HttpStatus.BAD_REQUEST, "Validation errors in request data", Map.of(
+                "phone", "Phone number must contain only digits (7-20) and optionally a leading +",
+                "email", "Email must be valid"
+        ));
+    }
+
+    @Benchmark
+    public OwnerResponse mapOwner() {
+        return mapper.toDto(owner);
+    }
+
+    @Benchmark
+    public List<OwnerResponse> mapOwners() {
+        return mapper.toDto(owners);
+    }
+
+    @Benchmark
+    public PageResponse<OwnerResponse> buildPageResponse() {
+        return PageResponse.from(page, CountMode.EXACT, Function.identity());
+    }
+
+    @Benchmark
+    public byte[] serializeOwner() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeNotFoundError() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(notFound);
+    }
+
+    @Benchmark
+    public byte[] serializeValidationError() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(validationErrors);
+    }
+
+    static Owner owner(int i) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(i);
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .firstName("firstName" + i)
+                .lastName("lastName" + i)
+                .email("owner" + i + "@example.com")
+                .passwordHash("$2a$10$hash")
+                .status(UserStatus.ACTIVE)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(0L)
+                .build();
+        return Owner.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .phone("+1555" + String.format("%06d", i))
+                .address(i + " Main St")
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .version(0L)
+                .build();
+    }
+}
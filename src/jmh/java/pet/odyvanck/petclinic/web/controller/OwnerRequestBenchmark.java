@@ -0,0 +1,66 @@
+package pet.odyvanck.petclinic.web.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerPaginationAndSorting;
+import pet.odyvanck.petclinic.web.dto.validation.SortingFieldValidator;
+import pet.odyvanck.petclinic.web.dto.validation.ValidSortingFields;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parameters handling done for every owners page request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerRequestBenchmark {
+
+    private OwnerPaginationAndSorting params;
+    private SortingFieldValidator validator;
+    private String[] validSortBy;
+    private String[] invalidSortBy;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        params = new OwnerPaginationAndSorting();
+        params.setPage(3);
+        params.setSize(20);
+        params.setSortBy(new String[]{"email", "createdAt"});
+        params.setDirection(Sort.Direction.DESC);
+
+        validator = new SortingFieldValidator();
+        validator.initialize(OwnerPaginationAndSorting.class.getDeclaredField("sortBy")
+                .getAnnotation(ValidSortingFields.class));
+        validSortBy = new String[]{"lastName", "firstName", "createdAt"};
+        invalidSortBy = new String[]{"lastName", "password"};
+    }
+
+    @Benchmark
+    public PageRequest buildPageRequest() {
+        return params.buildPageRequest(OwnerController.SORT_TRANSFORM);
+    }
+
+    @Benchmark
+    public boolean validateSortingFields() {
+        return validator.isValid(validSortBy, null);
+    }
+
+    @Benchmark
+    public boolean validateInvalidSortingFields() {
+        return validator.isValid(invalidSortBy, null);
+    }
+}
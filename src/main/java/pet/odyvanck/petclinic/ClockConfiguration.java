@@ -0,0 +1,19 @@
+package pet.odyvanck.petclinic;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfiguration {
+
+    /**
+     * Clock of timestamps written by the application itself, e.g. by native inserts and updates.
+     * It's UTC, so created and updated times don't depend on time zone of the host.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
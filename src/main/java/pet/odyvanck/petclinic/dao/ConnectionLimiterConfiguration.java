@@ -0,0 +1,77 @@
+package pet.odyvanck.petclinic.dao;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * In virtual thread mode ("spring.threads.virtual.enabled") requests aren't limited by Tomcat thread pool,
+ * so connection pool is put behind {@link ConnectionLimitingDataSource}.
+ * In platform thread mode request threads are the limit and pool is used as is.
+ * Pool usage and acquire time are published by Spring Boot as "hikaricp.*" metrics.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(ConnectionLimiterProperties.class)
+public class ConnectionLimiterConfiguration {
+
+    @Bean
+    static BeanPostProcessor connectionLimiter(ObjectProvider<ConnectionLimiterProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && isWrapperFor(dataSource, HikariDataSource.class)) {
+                    ConnectionLimiterProperties limits = properties.getObject();
+                    int permits = limits.permits() > 0
+                            ? limits.permits()
+                            : unwrap(dataSource, HikariDataSource.class).getMaximumPoolSize();
+                    return new ConnectionLimitingDataSource(
+                            dataSource, permits, limits.maxWaiting(), limits.acquireTimeout()
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (isWrapperFor(dataSource, ConnectionLimitingDataSource.class)) {
+                ConnectionLimitingDataSource limiter = unwrap(dataSource, ConnectionLimitingDataSource.class);
+                Gauge.builder("petclinic.datasource.limiter.waiting", limiter, ConnectionLimitingDataSource::getWaiting)
+                        .description("Requests waiting for database connection")
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Data source may be already wrapped by other post processors, e.g. {@link StatementTrackingDataSource}.
+     */
+    private static boolean isWrapperFor(DataSource dataSource, Class<?> type) {
+        try {
+            return dataSource.isWrapperFor(type);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.unwrap(type);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Can't unwrap " + type.getSimpleName() + " from data source", ex);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits of connections requested from the pool, applied in virtual thread mode.
+ * @param permits connections used at once, maximum pool size if not positive.
+ * @param maxWaiting requests waiting for a connection, above it connection is refused at once.
+ * @param acquireTimeout how long request waits for a connection.
+ */
+@ConfigurationProperties("petclinic.datasource.limiter")
+public record ConnectionLimiterProperties(
+        @DefaultValue("0") int permits,
+        @DefaultValue("1000") int maxWaiting,
+        @DefaultValue("5s") Duration acquireTimeout
+) {
+}
@@ -0,0 +1,58 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Page whose total elements are a planner estimate, while whether the next page exists is known
+ * from the page itself, read with one extra row. So the last page is told right however far the estimate is,
+ * and total is never less than the owners already seen.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    private final boolean hasNext;
+
+    private EstimatedPage(List<T> content, Pageable pageable, long total, boolean hasNext) {
+        super(content, pageable, total);
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Whether the slice tells its total itself, like {@link org.springframework.data.support.PageableExecutionUtils}
+     * does: it's the last page and it's not past the end.
+     */
+    public static boolean isTotalKnown(Slice<?> slice) {
+        Pageable pageable = slice.getPageable();
+        return !slice.hasNext() && (pageable.isUnpaged() || pageable.getOffset() == 0 || slice.hasContent());
+    }
+
+    /**
+     * @param slice          page content read with one extra row.
+     * @param estimatedTotal planner estimate of total elements, ignored if {@link #isTotalKnown} the slice.
+     * @return page with exact total if it's known, otherwise with estimated one.
+     */
+    public static <T> Page<T> of(Slice<T> slice, long estimatedTotal) {
+        Pageable pageable = slice.getPageable();
+        if (isTotalKnown(slice)) {
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            return new PageImpl<>(slice.getContent(), pageable, offset + slice.getNumberOfElements());
+        }
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        long total = slice.hasNext() ? Math.max(estimatedTotal, seen + 1) : Math.min(estimatedTotal, seen);
+        return new EstimatedPage<>(slice.getContent(), pageable, total, slice.hasNext());
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext;
+    }
+}
@@ -0,0 +1,55 @@
+package pet.odyvanck.petclinic.dao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+
+import java.util.Map;
+
+/**
+ * Planner estimate of owners matching a filter, taken from the plan of filtered select.
+ * Unfiltered estimate comes from table statistics, filtered one applies column statistics of every condition,
+ * so it is cheap for any filter and may be far from the exact count.
+ */
+final class OwnerCountEstimate {
+
+    /**
+     * Plan is read as a tree, so the shared application mapper and its settings are not needed.
+     */
+    private static final ObjectMapper PLAN_READER = new ObjectMapper();
+
+    private OwnerCountEstimate() {
+    }
+
+    /**
+     * Builds EXPLAIN of select of filtered owners. Not a count query, its plan always has one row.
+     * @param arguments receives values of filter parameters.
+     */
+    static String explainSql(OwnerFilter filter, Map<String, Object> arguments) {
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM owners o");
+        if (filter.joinsUser()) {
+            sql.append(" JOIN users u ON u.id = o.user_id");
+        }
+        if (!filter.isEmpty()) {
+            sql.append(" WHERE ").append(filter.toSql(arguments));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Reads estimated rows of the top plan node, {@code [0].Plan."Plan Rows"} of JSON plan.
+     */
+    static long planRows(String plan) {
+        JsonNode rows;
+        try {
+            rows = PLAN_READER.readTree(plan).path(0).path("Plan").path("Plan Rows");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Plan is not JSON " + plan, e);
+        }
+        if (!rows.isNumber()) {
+            throw new IllegalStateException("No row estimate in plan " + plan);
+        }
+        return Math.round(rows.doubleValue());
+    }
+}
@@ -0,0 +1,24 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.transaction.annotation.Transactional;
+import pet.odyvanck.petclinic.domain.Owner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Owner lookups by many ids at once.
+ */
+public interface OwnerLookupRepository {
+
+    /**
+     * Finds owners together with their users in one statement.
+     * Ids are bound as a single array parameter, so the statement text doesn't depend on number of ids.
+     *
+     * @param ids unique owner ids.
+     * @return found owners in no particular order, missing ids are skipped.
+     */
+    @Transactional(readOnly = true)
+    List<Owner> findAllWithUserByIds(Collection<UUID> ids);
+}
@@ -0,0 +1,41 @@
+package pet.odyvanck.petclinic.dao;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import pet.odyvanck.petclinic.domain.Owner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class OwnerLookupRepositoryImpl implements OwnerLookupRepository {
+
+    /**
+     * {@code = ANY} of an array uses primary key index like {@code IN} does,
+     * but it is one statement for any number of ids.
+     */
+    private static final String FIND_ALL_WITH_USER_BY_IDS_SQL = """
+            SELECT {o.*}, {u.*}
+            FROM owners o
+            JOIN users u ON u.id = o.user_id
+            WHERE o.id = ANY(:ids)
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Owner> findAllWithUserByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        @SuppressWarnings("unchecked")
+        NativeQuery<Owner> query = entityManager.createNativeQuery(FIND_ALL_WITH_USER_BY_IDS_SQL)
+                .unwrap(NativeQuery.class)
+                .addEntity("o", Owner.class)
+                .addJoin("u", "o.user");
+        return query.setParameter("ids", ids.toArray(UUID[]::new))
+                .getResultList();
+    }
+}
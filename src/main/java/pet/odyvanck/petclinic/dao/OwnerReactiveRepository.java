@@ -0,0 +1,150 @@
+package pet.odyvanck.petclinic.dao;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+import pet.odyvanck.petclinic.service.specification.OwnerSpecification;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking reads of owner responses over R2DBC.
+ * Filters are the same {@link OwnerFilter} conditions as JPA queries have, rendered as SQL,
+ * so both APIs find the same owners and use the same indexes.
+ */
+@Repository
+@ConditionalOnBooleanProperty("petclinic.reactive.enabled")
+@RequiredArgsConstructor
+public class OwnerReactiveRepository {
+
+    private static final String SELECT_SQL = """
+            SELECT o.id, o.user_id, u.first_name, u.last_name, o.phone, u.email, o.address, o.created_at, o.updated_at
+            FROM owners o JOIN users u ON u.id = o.user_id""";
+
+    /**
+     * Columns of sortable owner properties, named as in {@link org.springframework.data.domain.Sort} of JPA queries.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "o.id",
+            "user.id", "o.user_id",
+            "user.firstName", "u.first_name",
+            "user.lastName", "u.last_name",
+            "user.email", "u.email",
+            "phone", "o.phone",
+            "address", "o.address",
+            "createdAt", "o.created_at",
+            "updatedAt", "o.updated_at"
+    );
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<OwnerResponse> findResponseById(UUID id) {
+        return databaseClient.sql(SELECT_SQL + " WHERE o.id = :id")
+                .bind("id", id)
+                .map(OwnerReactiveRepository::toResponse)
+                .one();
+    }
+
+    /**
+     * Owners found by search text are ranked by relevance, unless other sorting is requested,
+     * only the first {@value OwnerFilter#RANKED_CANDIDATES} of them like {@link OwnerSpecification#rankedBySearch},
+     * their totals must be bounded by {@link OwnerFilter#rankedTotal}.
+     * @param offset owners to skip.
+     * @param limit maximum number of owners.
+     */
+    public Flux<OwnerResponse> findResponses(OwnerFilter filter, Sort sort, long offset, int limit) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = where(filter, params);
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (sort.isSorted()) {
+            List<String> orders = new ArrayList<>();
+            sort.forEach(order -> orders.add(column(order.getProperty()) + " " + order.getDirection().name()));
+            sql.append(where).append(" ORDER BY ").append(String.join(", ", orders));
+        } else if (filter.isRanked(sort)) {
+            sql.append(" WHERE o.id IN (SELECT o.id FROM ").append(from(filter)).append(where)
+                    .append(" LIMIT :candidates)")
+                    .append(" ORDER BY word_similarity(:rankedQ, o.search_text) DESC, o.id");
+            params.put("candidates", OwnerFilter.RANKED_CANDIDATES);
+            params.put("rankedQ", filter.searchText());
+        } else {
+            sql.append(where);
+        }
+        sql.append(" LIMIT :limit OFFSET :offset");
+        params.put("limit", limit);
+        params.put("offset", offset);
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(params)
+                .map(OwnerReactiveRepository::toResponse)
+                .all();
+    }
+
+    /**
+     * Users are joined only if they are filtered by.
+     */
+    public Mono<Long> count(OwnerFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        String where = where(filter, params);
+        return databaseClient.sql("SELECT count(*) FROM " + from(filter) + where)
+                .bindValues(params)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Takes planner estimate of filtered owners, see {@link OwnerCountEstimate}.
+     */
+    public Mono<Long> estimatedCount(OwnerFilter filter) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        return databaseClient.sql(OwnerCountEstimate.explainSql(filter, params))
+                .bindValues(params)
+                .map(row -> OwnerCountEstimate.planRows(row.get(0, String.class)))
+                .one();
+    }
+
+    /**
+     * Conditions are rendered by {@link OwnerFilter#toSql}, like the ones JPA queries get.
+     * @return WHERE clause, empty string if there are no conditions.
+     */
+    private static String where(OwnerFilter filter, Map<String, Object> params) {
+        return filter.isEmpty() ? "" : " WHERE " + filter.toSql(params);
+    }
+
+    private static String from(OwnerFilter filter) {
+        return filter.joinsUser() ? "owners o JOIN users u ON u.id = o.user_id" : "owners o";
+    }
+
+    private static String column(String property) {
+        String column = SORT_COLUMNS.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Owners can't be sorted by " + property);
+        }
+        return column;
+    }
+
+    private static OwnerResponse toResponse(Readable row) {
+        return new OwnerResponse(
+                row.get("id", UUID.class),
+                row.get("user_id", UUID.class),
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("phone", String.class),
+                row.get("email", String.class),
+                row.get("address", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class)
+        );
+    }
+}
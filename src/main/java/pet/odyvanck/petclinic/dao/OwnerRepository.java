@@ -1,10 +1,30 @@
 package pet.odyvanck.petclinic.dao;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 
+import java.util.Optional;
 import java.util.UUID;
 
-public interface OwnerRepository extends JpaRepository<Owner, UUID>, JpaSpecificationExecutor<Owner> {
+/**
+ * Owner is always read together with its user, so reading methods fetch the user in the same statement.
+ * Queries by specification get the fetch from {@code OwnerSpecification.fetchUser()}.
+ */
+public interface OwnerRepository extends JpaRepository<Owner, UUID>, JpaSpecificationExecutor<Owner>,
+        OwnerResponseRepository, OwnerWriteRepository, OwnerLookupRepository {
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Owner> findById(UUID id);
+
+    /**
+     * Reads only versions of owner and its user, entities are not loaded.
+     */
+    @Query("select new pet.odyvanck.petclinic.domain.OwnerVersion(o.version, u.version) "
+            + "from Owner o join o.user u where o.id = :id")
+    Optional<OwnerVersion> findVersionById(UUID id);
 }
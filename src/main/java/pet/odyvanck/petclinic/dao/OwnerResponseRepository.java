@@ -0,0 +1,41 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Read-only owner queries which build responses right in the select list, without loading entities.
+ */
+public interface OwnerResponseRepository {
+
+    /**
+     * Finds owner responses by filter.
+     * Owners found by search text are ranked by relevance, if pageable is unsorted,
+     * only the first {@value OwnerFilter#RANKED_CANDIDATES} of them, and totals count no more than them.
+     *
+     * @param filter    owner filters.
+     * @param pageable  page and sorting in terms of owner entity properties.
+     * @param countMode how total elements are counted.
+     * @param fields    response fields to select, the rest are left null.
+     * @return {@link org.springframework.data.domain.Page} of responses,
+     * or plain slice without totals if count mode is {@link CountMode#NONE}.
+     */
+    Slice<OwnerResponse> findAllResponses(OwnerFilter filter, Pageable pageable, CountMode countMode,
+                                          Set<OwnerField> fields);
+
+    /**
+     * Streams all owner responses by filter in id order, reading them from database cursor in batches.
+     * Must be called in transaction and closed after use.
+     *
+     * @param filter owner filters.
+     * @return stream of responses.
+     */
+    Stream<OwnerResponse> streamResponses(OwnerFilter filter);
+}
@@ -0,0 +1,151 @@
+package pet.odyvanck.petclinic.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+import pet.odyvanck.petclinic.service.specification.OwnerSpecification;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class OwnerResponseRepositoryImpl implements OwnerResponseRepository {
+
+    /**
+     * Rows taken from database cursor per round trip while streaming.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<OwnerResponse> findAllResponses(OwnerFilter filter, Pageable pageable, CountMode countMode,
+                                                 Set<OwnerField> fields) {
+        Specification<Owner> spec = OwnerSpecification.matches(filter);
+        TypedQuery<OwnerResponse> typedQuery = entityManager.createQuery(responseQuery(
+                filter.isRanked(pageable.getSort()) ? spec.and(OwnerSpecification.rankedBySearch(filter)) : spec,
+                pageable.getSort(),
+                fields
+        ));
+        if (countMode == CountMode.NONE) {
+            return slice(typedQuery, pageable);
+        }
+        if (countMode == CountMode.ESTIMATED) {
+            // the last page is told by the extra row, only total is estimated
+            Slice<OwnerResponse> slice = slice(typedQuery, pageable);
+            return EstimatedPage.of(slice, EstimatedPage.isTotalKnown(slice)
+                    ? 0
+                    : filter.rankedTotal(pageable.getSort(), estimatedCount(filter)));
+        }
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<OwnerResponse> content = typedQuery.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> filter.rankedTotal(pageable.getSort(), count(spec)));
+    }
+
+    @Override
+    public Stream<OwnerResponse> streamResponses(OwnerFilter filter) {
+        Specification<Owner> spec = OwnerSpecification.matches(filter);
+        return entityManager.createQuery(responseQuery(spec, Sort.by("id"), EnumSet.allOf(OwnerField.class)))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Fields which are not requested are selected as nulls, user is joined only if its fields are requested.
+     */
+    private CriteriaQuery<OwnerResponse> responseQuery(Specification<Owner> spec, Sort sort, Set<OwnerField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OwnerResponse> query = cb.createQuery(OwnerResponse.class);
+        Root<Owner> owner = query.from(Owner.class);
+        Join<Owner, User> user = fields.stream().anyMatch(OwnerField::isUserField) ? owner.join("user") : null;
+
+        query.select(cb.construct(OwnerResponse.class, Arrays.stream(OwnerField.values())
+                .map(field -> !fields.contains(field)
+                        ? cb.nullLiteral(field.type())
+                        : field.isUserField() ? user.get(field.property()) : owner.get(field.property()))
+                .toArray(Selection[]::new)
+        ));
+        Predicate predicate = spec.toPredicate(owner, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, owner, cb));
+        }
+        return query;
+    }
+
+    /**
+     * Reads one extra row to find out whether the next page exists.
+     */
+    private Slice<OwnerResponse> slice(TypedQuery<OwnerResponse> typedQuery, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<OwnerResponse> content = typedQuery.getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private long count(Specification<Owner> spec) {
+        return entityManager.createQuery(countQuery(spec)).getSingleResult();
+    }
+
+    /**
+     * Takes planner estimate of filtered owners, see {@link OwnerCountEstimate}.
+     */
+    private long estimatedCount(OwnerFilter filter) {
+        Map<String, Object> arguments = new HashMap<>();
+        Query query = entityManager.createNativeQuery(OwnerCountEstimate.explainSql(filter, arguments));
+        arguments.forEach(query::setParameter);
+        return OwnerCountEstimate.planRows(query.getSingleResult().toString());
+    }
+
+    private CriteriaQuery<Long> countQuery(Specification<Owner> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Owner> owner = query.from(Owner.class);
+
+        query.select(cb.count(owner));
+        Predicate predicate = spec.toPredicate(owner, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,59 @@
+package pet.odyvanck.petclinic.dao;
+
+import jakarta.annotation.Nullable;
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerUpdateRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Owner writes done with single native statement instead of several entity operations.
+ */
+public interface OwnerWriteRepository {
+
+    /**
+     * Inserts owner together with its user in one statement.
+     * Nothing is inserted if user email is already taken, concurrent inserts of the same email included.
+     * Missing ids and timestamps are assigned to passed entities, both stay unmanaged.
+     *
+     * @param owner owner with user, user must have password hash and status.
+     * @return true if inserted, false if email is taken.
+     */
+    boolean insertWithUser(Owner owner);
+
+    /**
+     * Inserts owners together with their users with the statement of {@link #insertWithUser}, sent in batches.
+     * Owner whose user email is already taken, by another owner of the list too, is skipped, the rest are inserted.
+     * Missing ids and timestamps are assigned to passed entities, all of them stay unmanaged.
+     *
+     * @param owners owners with users, users must have password hashes and statuses.
+     * @return whether each owner was inserted, in the same order as owners.
+     */
+    boolean[] insertAllWithUsers(List<Owner> owners);
+
+    /**
+     * Updates owner and its user in one statement. Only a row whose fields change is written
+     * and gets its version incremented, so an update without changes keeps both versions.
+     * Persistence context is flushed before and cleared after, like {@code @Modifying} queries do.
+     *
+     * @param id              unique owner id.
+     * @param fields          new field values.
+     * @param expectedVersion versions owner must have to be updated, null to update any version.
+     * @param updatedAt       update time of owner and user.
+     * @return updated owner with user, unmanaged, or empty if owner doesn't exist or has another version.
+     */
+    Optional<Owner> updateWithUser(UUID id, OwnerUpdateRequest fields, @Nullable OwnerVersion expectedVersion,
+                                   LocalDateTime updatedAt);
+
+    /**
+     * Deletes owner together with its user in one statement.
+     *
+     * @param id unique owner id.
+     * @return true if owner existed.
+     */
+    boolean deleteWithUser(UUID id);
+}
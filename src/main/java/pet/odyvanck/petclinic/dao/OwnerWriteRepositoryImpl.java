@@ -0,0 +1,263 @@
+package pet.odyvanck.petclinic.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
+import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.domain.UserStatus;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerUpdateRequest;
+
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+class OwnerWriteRepositoryImpl implements OwnerWriteRepository {
+
+    /**
+     * Owner row is selected from inserted user, so on email conflict no user and no owner is inserted.
+     */
+    private static final String INSERT_WITH_USER_SQL = """
+            WITH new_user AS (
+                INSERT INTO users (id, first_name, last_name, password_hash, email, status, created_at, updated_at, version)
+                VALUES (:userId, :firstName, :lastName, :passwordHash, :email, CAST(:status AS user_status),
+                        :createdAt, :updatedAt, 0)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id
+            )
+            INSERT INTO owners (id, user_id, phone, address, created_at, updated_at, version)
+            SELECT :ownerId, id, :phone, :address, :createdAt, :updatedAt, 0
+            FROM new_user
+            """;
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    /**
+     * The same insert with JDBC parameters, for batches, and names of its parameters in order.
+     */
+    private static final String BATCH_INSERT_WITH_USER_SQL = NAMED_PARAMETER.matcher(INSERT_WITH_USER_SQL)
+            .replaceAll("?");
+
+    private static final List<String> BATCH_INSERT_PARAMETERS = NAMED_PARAMETER.matcher(INSERT_WITH_USER_SQL)
+            .results()
+            .map(result -> result.group(1))
+            .toList();
+
+    /**
+     * Inserts per JDBC batch, the same as hibernate.jdbc.batch_size.
+     */
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    /**
+     * User and owner rows are locked first, so concurrent updates of the same owner wait
+     * and the version condition is checked again against the committed rows.
+     * A row is written only if its fields change, so an update without changes keeps versions and ETag.
+     * Final select sees rows as they were before the update, written columns are taken from updated rows.
+     */
+    private static final String UPDATE_WITH_USER_SQL = """
+            WITH target AS (
+                SELECT o.id, o.phone, o.address, o.created_at, o.updated_at, o.version,
+                       u.id AS user_id, u.first_name, u.last_name, u.password_hash, u.email,
+                       CAST(u.status AS text) AS status, u.created_at AS user_created_at,
+                       u.updated_at AS user_updated_at, u.version AS user_version,
+                       (u.first_name, u.last_name) IS DISTINCT FROM
+                           (CAST(:firstName AS text), CAST(:lastName AS text)) AS user_changed,
+                       (o.phone, o.address) IS DISTINCT FROM
+                           (CAST(:phone AS text), CAST(:address AS text)) AS owner_changed
+                FROM users u
+                JOIN owners o ON o.user_id = u.id
+                WHERE o.id = :id%s
+                FOR NO KEY UPDATE OF u, o
+            ),
+            updated_user AS (
+                UPDATE users u
+                SET first_name = :firstName, last_name = :lastName, updated_at = :updatedAt, version = u.version + 1
+                FROM target t
+                WHERE u.id = t.user_id AND t.user_changed
+                RETURNING u.first_name, u.last_name, u.updated_at, u.version
+            ),
+            updated_owner AS (
+                UPDATE owners o
+                SET phone = :phone, address = :address, updated_at = :updatedAt, version = o.version + 1
+                FROM target t
+                WHERE o.id = t.id AND t.owner_changed
+                RETURNING o.phone, o.address, o.updated_at, o.version
+            )
+            SELECT t.id, coalesce(o.phone, t.phone) AS phone,
+                   CASE WHEN t.owner_changed THEN o.address ELSE t.address END AS address,
+                   t.created_at, coalesce(o.updated_at, t.updated_at) AS updated_at,
+                   coalesce(o.version, t.version) AS version,
+                   t.user_id, coalesce(u.first_name, t.first_name) AS first_name,
+                   coalesce(u.last_name, t.last_name) AS last_name, t.password_hash, t.email, t.status,
+                   t.user_created_at, coalesce(u.updated_at, t.user_updated_at) AS user_updated_at,
+                   coalesce(u.version, t.user_version) AS user_version
+            FROM target t
+            LEFT JOIN updated_owner o ON true
+            LEFT JOIN updated_user u ON true
+            """;
+
+    private static final String VERSION_CONDITION = " AND o.version = :ownerVersion AND u.version = :userVersion";
+
+    /**
+     * Owner row is removed by ON DELETE CASCADE of its foreign key to users.
+     */
+    private static final String DELETE_WITH_USER_SQL =
+            "DELETE FROM users WHERE id = (SELECT user_id FROM owners WHERE id = :id)";
+
+    private final EntityManager entityManager;
+    private final Clock clock;
+
+    @Override
+    public boolean insertWithUser(Owner owner) {
+        Query query = entityManager.createNativeQuery(INSERT_WITH_USER_SQL);
+        insertParameters(owner, LocalDateTime.now(clock)).forEach(query::setParameter);
+        return query.executeUpdate() == 1;
+    }
+
+    /**
+     * Statement is executed directly on JDBC connection of the session, native queries are not batched.
+     * Insert isn't rewritten to multi-row one by the driver, so every row gets own update count.
+     */
+    @Override
+    public boolean[] insertAllWithUsers(List<Owner> owners) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Map<String, Object>> rows = new ArrayList<>(owners.size());
+        owners.forEach(owner -> rows.add(insertParameters(owner, now)));
+
+        boolean[] inserted = new boolean[owners.size()];
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(BATCH_INSERT_WITH_USER_SQL)) {
+                for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+                    int to = Math.min(from + INSERT_BATCH_SIZE, rows.size());
+                    for (Map<String, Object> row : rows.subList(from, to)) {
+                        for (int i = 0; i < BATCH_INSERT_PARAMETERS.size(); i++) {
+                            statement.setObject(i + 1, row.get(BATCH_INSERT_PARAMETERS.get(i)));
+                        }
+                        statement.addBatch();
+                    }
+                    int[] counts = statement.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        inserted[from + i] = counts[i] == 1;
+                    }
+                }
+            }
+        });
+        return inserted;
+    }
+
+    @Override
+    public Optional<Owner> updateWithUser(UUID id, OwnerUpdateRequest fields, OwnerVersion expectedVersion,
+                                          LocalDateTime updatedAt) {
+        entityManager.flush();
+        NativeQuery<?> query = entityManager.createNativeQuery(
+                        UPDATE_WITH_USER_SQL.formatted(expectedVersion != null ? VERSION_CONDITION : ""))
+                .setParameter("id", id)
+                .setParameter("firstName", fields.firstName())
+                .setParameter("lastName", fields.lastName())
+                .setParameter("phone", fields.phone())
+                .setParameter("address", fields.address())
+                .setParameter("updatedAt", updatedAt)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", UUID.class)
+                .addScalar("phone", String.class)
+                .addScalar("address", String.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("version", Long.class)
+                .addScalar("user_id", UUID.class)
+                .addScalar("first_name", String.class)
+                .addScalar("last_name", String.class)
+                .addScalar("password_hash", String.class)
+                .addScalar("email", String.class)
+                .addScalar("status", String.class)
+                .addScalar("user_created_at", LocalDateTime.class)
+                .addScalar("user_updated_at", LocalDateTime.class)
+                .addScalar("user_version", Long.class);
+        if (expectedVersion != null) {
+            query.setParameter("ownerVersion", expectedVersion.owner())
+                    .setParameter("userVersion", expectedVersion.user());
+        }
+        List<?> rows = query.getResultList();
+        entityManager.clear();
+        return rows.stream()
+                .map(row -> toOwner((Object[]) row))
+                .findFirst();
+    }
+
+    @Override
+    public boolean deleteWithUser(UUID id) {
+        int deleted = entityManager.createNativeQuery(DELETE_WITH_USER_SQL)
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+        return deleted == 1;
+    }
+
+    /**
+     * Assigns missing ids, timestamps and versions to owner and its user.
+     * @return parameters of {@link #INSERT_WITH_USER_SQL} by name.
+     */
+    private static Map<String, Object> insertParameters(Owner owner, LocalDateTime now) {
+        User user = owner.getUser();
+        if (user.getId() == null) {
+            user.setId(UUID.randomUUID());
+        }
+        if (owner.getId() == null) {
+            owner.setId(UUID.randomUUID());
+        }
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        owner.setCreatedAt(now);
+        owner.setUpdatedAt(now);
+        user.setVersion(0L);
+        owner.setVersion(0L);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userId", user.getId());
+        parameters.put("firstName", user.getFirstName());
+        parameters.put("lastName", user.getLastName());
+        parameters.put("passwordHash", user.getPasswordHash());
+        parameters.put("email", user.getEmail());
+        parameters.put("status", user.getStatus().name());
+        parameters.put("ownerId", owner.getId());
+        parameters.put("phone", owner.getPhone());
+        parameters.put("address", owner.getAddress());
+        parameters.put("createdAt", now);
+        parameters.put("updatedAt", now);
+        return parameters;
+    }
+
+    private static Owner toOwner(Object[] row) {
+        User user = User.builder()
+                .id((UUID) row[6])
+                .firstName((String) row[7])
+                .lastName((String) row[8])
+                .passwordHash((String) row[9])
+                .email((String) row[10])
+                .status(UserStatus.valueOf((String) row[11]))
+                .createdAt((LocalDateTime) row[12])
+                .updatedAt((LocalDateTime) row[13])
+                .version((Long) row[14])
+                .build();
+        return Owner.builder()
+                .id((UUID) row[0])
+                .user(user)
+                .phone((String) row[1])
+                .address((String) row[2])
+                .createdAt((LocalDateTime) row[3])
+                .updatedAt((LocalDateTime) row[4])
+                .version((Long) row[5])
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package pet.odyvanck.petclinic.dao;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+/**
+ * R2DBC connection pool of reactive reads, configured by "spring.r2dbc" properties.
+ * It's created only with the reactive API, see {@link pet.odyvanck.petclinic.web.ReactiveWebConfiguration},
+ * and its connections are opened next to JDBC pool ones.
+ * Without "spring.r2dbc.url" the pool connects to the database of "spring.datasource.url".
+ * Spring Boot doesn't configure JDBC data source when there is R2DBC connection factory bean,
+ * so the pool is exposed only through {@link DatabaseClient}.
+ * Pool usage is published as "r2dbc.pool.*" metrics with name "reactive".
+ */
+@Configuration
+@ConditionalOnBooleanProperty("petclinic.reactive.enabled")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactiveDatabaseConfiguration implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(R2dbcProperties properties,
+                                                 DataSourceProperties dataSourceProperties) {
+        String url = StringUtils.hasText(properties.getUrl())
+                ? properties.getUrl()
+                : r2dbcUrl(dataSourceProperties.getUrl());
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime());
+        if (pool.getMaxAcquireTime() != null) {
+            configuration.maxAcquireTime(pool.getMaxAcquireTime());
+        }
+        connectionPool = new ConnectionPool(configuration.build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * R2DBC URL of the same database as JDBC one, e.g. r2dbc:postgresql://localhost:5432/petclinic.
+     * JDBC driver parameters are dropped, R2DBC driver doesn't know them.
+     */
+    public static String r2dbcUrl(String jdbcUrl) {
+        return jdbcUrl.replaceFirst("^jdbc:", "r2dbc:").replaceFirst("\\?.*$", "");
+    }
+
+    @Bean
+    MeterBinder reactiveConnectionPoolMetrics(DatabaseClient reactiveDatabaseClient) {
+        return registry -> {
+            if (reactiveDatabaseClient.getConnectionFactory() instanceof ConnectionPool pool) {
+                new ConnectionPoolMetrics(pool, "reactive", Tags.empty()).bindTo(registry);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Limits of SQL statements executed by one request, requests above them are logged and counted.
+ * @param statements statements per request for endpoints which have no own limit.
+ * @param repeatedStatements how many times one statement may be executed in a request,
+ *                           more executions usually mean N+1 selects. Batches are not counted.
+ * @param endpoints statements per request by "METHOD /uri/pattern", e.g. "GET /api/v1/owners/{id}".
+ */
+@ConfigurationProperties("petclinic.statement-budget")
+public record StatementBudgetProperties(
+        @DefaultValue("5") int statements,
+        @DefaultValue("2") int repeatedStatements,
+        @DefaultValue Map<String, Integer> endpoints
+) {
+
+    public int statements(String method, String uri) {
+        return endpoints.getOrDefault(method + " " + uri, statements);
+    }
+}
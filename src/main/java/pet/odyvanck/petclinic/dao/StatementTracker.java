@@ -0,0 +1,75 @@
+package pet.odyvanck.petclinic.dao;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects SQL statements executed in the current thread between {@link #start()} and {@link #stop()}.
+ * Statements are reported by {@link StatementTrackingDataSource}, ones executed outside of tracking,
+ * e.g. by async tasks, are ignored.
+ */
+public class StatementTracker {
+
+    private final ThreadLocal<Tracking> current = new ThreadLocal<>();
+
+    public void start() {
+        current.set(new Tracking());
+    }
+
+    /**
+     * @return statements executed since {@link #start()}, empty usage if tracking wasn't started.
+     */
+    public StatementUsage stop() {
+        Tracking tracking = current.get();
+        current.remove();
+        return tracking != null ? tracking.toUsage() : StatementUsage.NONE;
+    }
+
+    /**
+     * @param sql executed statement.
+     * @param batch whether statement was executed as batch, repeated batches are not counted as repetitions.
+     * @param nanos execution time.
+     */
+    public void record(String sql, boolean batch, long nanos) {
+        Tracking tracking = current.get();
+        if (tracking != null) {
+            tracking.statements++;
+            tracking.nanos += nanos;
+            if (!batch && sql != null) {
+                tracking.executions.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Statements executed by one unit of work, e.g. request.
+     * @param statements executed statements, batch is counted once.
+     * @param jdbcTime time spent in statement execution, reading of results is not included.
+     * @param mostRepeatedSql statement executed most times, null if there were no statements.
+     * @param mostRepeatedCount how many times {@code mostRepeatedSql} was executed.
+     */
+    public record StatementUsage(int statements, Duration jdbcTime, String mostRepeatedSql, int mostRepeatedCount) {
+
+        static final StatementUsage NONE = new StatementUsage(0, Duration.ZERO, null, 0);
+    }
+
+    private static final class Tracking {
+
+        private int statements;
+        private long nanos;
+        private final Map<String, Integer> executions = new HashMap<>();
+
+        private StatementUsage toUsage() {
+            String mostRepeatedSql = null;
+            int mostRepeatedCount = 0;
+            for (Map.Entry<String, Integer> execution : executions.entrySet()) {
+                if (execution.getValue() > mostRepeatedCount) {
+                    mostRepeatedSql = execution.getKey();
+                    mostRepeatedCount = execution.getValue();
+                }
+            }
+            return new StatementUsage(statements, Duration.ofNanos(nanos), mostRepeatedSql, mostRepeatedCount);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pet.odyvanck.petclinic.web.StatementBudgetFilter;
+
+import javax.sql.DataSource;
+
+/**
+ * Data source reports executed statements to {@link StatementTracker}, which is started for every request
+ * by {@link StatementBudgetFilter}. Hibernate wide counters are published by Spring Boot as "hibernate.*" metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(StatementBudgetProperties.class)
+public class StatementTrackingConfiguration {
+
+    @Bean
+    public StatementTracker statementTracker() {
+        return new StatementTracker();
+    }
+
+    @Bean
+    static BeanPostProcessor statementTracking(ObjectProvider<StatementTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTrackingDataSource)) {
+                    return new StatementTrackingDataSource(dataSource, tracker.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import pet.odyvanck.petclinic.jfr.SqlStatementEvent;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Reports every statement execution with its time to {@link StatementTracker} and as {@link SqlStatementEvent}.
+ */
+public class StatementTrackingDataSource extends DelegatingDataSource {
+
+    private final StatementTracker tracker;
+
+    public StatementTrackingDataSource(DataSource target, StatementTracker tracker) {
+        super(target);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracking(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracking(super.getConnection(username, password));
+    }
+
+    private Connection tracking(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> tracking((Statement) result, Statement.class, null);
+                        case "prepareStatement" -> tracking((Statement) result, PreparedStatement.class, (String) args[0]);
+                        case "prepareCall" -> tracking((Statement) result, CallableStatement.class, (String) args[0]);
+                        default -> result;
+                    };
+                }
+        );
+    }
+
+    /**
+     * @param preparedSql sql of prepared statement, null for plain statement which gets sql on execution.
+     */
+    private Statement tracking(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (!name.startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String executed
+                            ? executed
+                            : preparedSql;
+                    boolean batch = name.endsWith("Batch");
+                    SqlStatementEvent event = new SqlStatementEvent();
+                    event.begin();
+                    long start = System.nanoTime();
+                    Object result = null;
+                    try {
+                        result = invoke(statement, method, args);
+                        return result;
+                    } finally {
+                        tracker.record(sql, batch, System.nanoTime() - start);
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.sql = sql;
+                            event.batch = batch;
+                            event.rows = rows(statement, result);
+                            event.commit();
+                        }
+                    }
+                }
+        );
+    }
+
+    /**
+     * Rows changed by executed statement, -1 for queries and failed executions.
+     */
+    private static long rows(Statement statement, Object result) throws SQLException {
+        return switch (result) {
+            case Integer count -> count;
+            case Long count -> count;
+            case int[] counts -> Arrays.stream(counts).asLongStream().sum();
+            case long[] counts -> Arrays.stream(counts).sum();
+            case Boolean hasResultSet when !hasResultSet -> statement.getUpdateCount();
+            case null, default -> -1;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
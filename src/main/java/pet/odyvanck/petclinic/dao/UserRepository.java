@@ -2,12 +2,20 @@ package pet.odyvanck.petclinic.dao;
 
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import pet.odyvanck.petclinic.domain.User;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(@NotNull String email);
+
+    boolean existsByEmail(@NotNull String email);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findEmailsIn(@NotNull Collection<String> emails);
 }
 
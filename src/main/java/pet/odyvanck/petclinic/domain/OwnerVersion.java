@@ -0,0 +1,11 @@
+package pet.odyvanck.petclinic.domain;
+
+/**
+ * Versions of owner and its user, together they change on every change of owner information.
+ */
+public record OwnerVersion(long owner, long user) {
+
+    public static OwnerVersion of(Owner owner) {
+        return new OwnerVersion(owner.getVersion(), owner.getUser().getVersion());
+    }
+}
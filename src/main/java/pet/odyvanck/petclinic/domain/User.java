@@ -1,9 +1,11 @@
 package pet.odyvanck.petclinic.domain;
 
 import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -19,6 +21,8 @@ import java.util.UUID;
 @Table(name = "users")
 @Data
 @Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -40,6 +44,10 @@ public class User {
     @Column(nullable = false)
     private UserStatus status;
 
+    @Version
+    @EqualsAndHashCode.Exclude
+    private Long version;
+
     @Column(name = "created_at", updatable = false)
     @EqualsAndHashCode.Exclude
     @CreationTimestamp
@@ -0,0 +1,18 @@
+package pet.odyvanck.petclinic.domain.error;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base of exceptions thrown on expected paths, e.g. lookup of missing entity, which become error responses.
+ * Stack trace isn't filled unless debug is enabled for this class, as filling it costs more than the rest
+ * of such request.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainException.class);
+
+    protected DomainException(String message) {
+        super(message, null, false, log.isDebugEnabled());
+    }
+}
@@ -1,11 +1,13 @@
 package pet.odyvanck.petclinic.domain.error;
 
 
-public class EntityAlreadyExistsException extends RuntimeException {
-
-    private final static String ERROR_MESSAGE = "%s with %s '%s' already exists";
+public class EntityAlreadyExistsException extends DomainException {
 
     public EntityAlreadyExistsException(String entityName, String fieldName, String value) {
-        super(String.format(ERROR_MESSAGE, entityName, fieldName, value));
+        super(entityName + " with " + fieldName + " '" + value + "' already exists");
+    }
+
+    public EntityAlreadyExistsException(String entityName, String fieldName) {
+        super(entityName + " with the same " + fieldName + " already exists");
     }
 }
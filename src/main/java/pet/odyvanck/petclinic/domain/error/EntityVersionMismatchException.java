@@ -0,0 +1,9 @@
+package pet.odyvanck.petclinic.domain.error;
+
+public class EntityVersionMismatchException extends DomainException {
+
+    public EntityVersionMismatchException(String entity, String field, String val) {
+        super(entity + " with " + field + " '" + val + "' has been modified, expected version doesn't match");
+    }
+
+}
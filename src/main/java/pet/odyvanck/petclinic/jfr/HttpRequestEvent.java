@@ -0,0 +1,24 @@
+package pet.odyvanck.petclinic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pet.odyvanck.petclinic.HttpRequest")
+@Label("HTTP Request")
+@Category({"Pet Clinic", "Web"})
+@Description("Request handled by the application, from the first filter to the response")
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    @Description("Matched URI pattern")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}
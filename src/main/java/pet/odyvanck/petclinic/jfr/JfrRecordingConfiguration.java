@@ -0,0 +1,52 @@
+package pet.odyvanck.petclinic.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Starts continuous recording of JVM and application events, the same can be done
+ * without the application with "-XX:StartFlightRecording" JVM option.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("petclinic.jfr.enabled")
+@EnableConfigurationProperties(JfrRecordingProperties.class)
+public class JfrRecordingConfiguration {
+
+    private static final List<Class<? extends Event>> EVENTS =
+            List.of(HttpRequestEvent.class, ServiceCallEvent.class, SqlStatementEvent.class);
+
+    /**
+     * Events of JVM start, they hold environment variables and system properties like database password.
+     */
+    private static final List<String> SECRET_EVENTS =
+            List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    @Bean(destroyMethod = "close")
+    public Recording flightRecording(JfrRecordingProperties properties) throws IOException, ParseException {
+        Recording recording = new Recording(jdk.jfr.Configuration.getConfiguration(properties.settings()));
+        recording.setName("pet-clinic");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.maxAge());
+        recording.setMaxSize(properties.maxSize().toBytes());
+        EVENTS.forEach(event -> recording.enable(event).withThreshold(properties.threshold()));
+        SECRET_EVENTS.forEach(recording::disable);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Not exposed over HTTP by default, dumps must be kept away from unauthenticated callers.
+     */
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(Recording flightRecording) {
+        return new JfrRecordingEndpoint(flightRecording);
+    }
+}
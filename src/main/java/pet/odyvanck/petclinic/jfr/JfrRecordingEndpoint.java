@@ -0,0 +1,33 @@
+package pet.odyvanck.petclinic.jfr;
+
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Dumps events of continuous recording as ".jfr" file, open it with JDK Mission Control or "jfr print".
+ */
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrRecordingEndpoint {
+
+    private final Recording recording;
+
+    /**
+     * Dump is written to temporary file, which is deleted when the response is sent.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        Path file = Files.createTempFile("pet-clinic-", ".jfr");
+        recording.dump(file);
+        return new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+    }
+}
@@ -0,0 +1,26 @@
+package pet.odyvanck.petclinic.jfr;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Continuous flight recording, kept in a ring buffer on disk and dumped on demand by "jfr" endpoint or jcmd.
+ * @param enabled whether recording is started with the application.
+ * @param settings JFR settings, "default" is made for always-on recording with about 1% overhead,
+ *                 "profile" gathers more and costs more.
+ * @param maxAge how long events are kept.
+ * @param maxSize how much space events may take, oldest are dropped above it.
+ * @param threshold application events shorter than it are not recorded.
+ */
+@ConfigurationProperties("petclinic.jfr")
+public record JfrRecordingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("default") String settings,
+        @DefaultValue("30m") Duration maxAge,
+        @DefaultValue("100MB") DataSize maxSize,
+        @DefaultValue("20ms") Duration threshold
+) {
+}
@@ -0,0 +1,23 @@
+package pet.odyvanck.petclinic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pet.odyvanck.petclinic.ServiceCall")
+@Label("Service Call")
+@Category({"Pet Clinic", "Service"})
+@Description("Call of a service method, transaction included")
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,25 @@
+package pet.odyvanck.petclinic.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pet.odyvanck.petclinic.SqlStatement")
+@Label("SQL Statement")
+@Category({"Pet Clinic", "JDBC"})
+@Description("Execution of SQL statement, reading of query results is not included")
+public class SqlStatementEvent extends Event {
+
+    @Label("SQL")
+    @Description("Statement with parameter placeholders, values are never recorded")
+    public String sql;
+
+    @Label("Batch")
+    public boolean batch;
+
+    @Label("Rows")
+    @Description("Rows changed by update, -1 for queries")
+    public long rows;
+}
@@ -0,0 +1,35 @@
+package pet.odyvanck.petclinic.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender which estimates how many events it drops.
+ * With "neverBlock" the caller never waits for a full queue, events are dropped instead,
+ * and below "discardingThreshold" of free capacity INFO and lower events are dropped first.
+ * Logback doesn't tell whether an event was queued, so the queue is looked at before the event is appended,
+ * while the worker takes events from it concurrently.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining == 0 || remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+
+    /**
+     * @return estimate of events dropped since start, events queued right after the worker freed space
+     * are counted too, so it may be a little higher than the real number.
+     */
+    public long getEstimatedDropped() {
+        return dropped.sum();
+    }
+}
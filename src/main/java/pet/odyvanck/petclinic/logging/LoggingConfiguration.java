@@ -0,0 +1,40 @@
+package pet.odyvanck.petclinic.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Logs are written by {@link CountingAsyncAppender} from logback-spring.xml,
+ * Spring Boot applies the task decorator to its task executor, used by @Async and async requests.
+ */
+@Configuration
+public class LoggingConfiguration {
+
+    static final String ASYNC_APPENDER = "ASYNC";
+
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+
+    @Bean
+    public MeterBinder droppedLogEventsMetrics() {
+        return registry -> {
+            if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context
+                    && context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_APPENDER)
+                    instanceof CountingAsyncAppender appender) {
+                FunctionCounter.builder("logback.events.dropped.estimated", appender,
+                                CountingAsyncAppender::getEstimatedDropped)
+                        .description("Estimate of log events dropped because logging queue was full, "
+                                + "taken from queue capacity before each event is appended")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package pet.odyvanck.petclinic.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are created by Spring Boot from "spring.cache.cache-names" with the Caffeine builder below,
+ * so their hit, miss and eviction statistics are registered as "cache.*" metrics.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(OwnerCacheProperties.class)
+public class CacheConfiguration {
+
+    public static final String OWNERS_CACHE = "owners";
+
+    /**
+     * Missing entries are stored by Spring as {@link NullValue} and expire after their own, shorter time.
+     */
+    @Bean
+    public Caffeine<Object, Object> caffeine(OwnerCacheProperties properties) {
+        long foundTtl = properties.timeToLive().toNanos();
+        long notFoundTtl = properties.notFoundTimeToLive().toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new Expiry<Object, Object>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Object value, long currentTime) {
+                        return value instanceof NullValue ? notFoundTtl : foundTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats();
+    }
+}
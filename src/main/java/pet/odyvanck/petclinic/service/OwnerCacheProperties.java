@@ -0,0 +1,20 @@
+package pet.odyvanck.petclinic.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Owner cache settings.
+ * @param maximumSize owners kept in cache, least used are evicted above it.
+ * @param timeToLive how long found owner is cached.
+ * @param notFoundTimeToLive how long missing id is remembered, keep it short as owner may be created with it.
+ */
+@ConfigurationProperties("petclinic.owner-cache")
+public record OwnerCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration timeToLive,
+        @DefaultValue("30s") Duration notFoundTimeToLive
+) {
+}
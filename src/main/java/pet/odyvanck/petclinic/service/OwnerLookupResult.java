@@ -0,0 +1,17 @@
+package pet.odyvanck.petclinic.service;
+
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of lookup of many owners by ids.
+ * @param owners found owners in order of requested ids.
+ * @param missingIds requested ids without owner, in request order.
+ */
+public record OwnerLookupResult(
+        List<OwnerResponse> owners,
+        List<UUID> missingIds
+) {
+}
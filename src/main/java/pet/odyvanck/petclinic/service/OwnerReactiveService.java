@@ -0,0 +1,39 @@
+package pet.odyvanck.petclinic.service;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking owner reads, they don't hold a thread while waiting for database.
+ */
+public interface OwnerReactiveService {
+
+    /**
+     * Gets owner responses according to request, like {@link OwnerService#getAllResponses} does with all fields.
+     *
+     * @param pageRequest page request for getting owner.
+     * @param countMode   how total elements are counted.
+     * @param filter      filter params for owner.
+     * @return page of owner responses, or slice without totals if count mode is {@link CountMode#NONE}.
+     */
+    Mono<Slice<OwnerResponse>> getAllResponses(
+            @NotNull PageRequest pageRequest,
+            @NotNull CountMode countMode,
+            @NotNull OwnerRequestParams filter
+    );
+
+    /**
+     * Gets owner response by id.
+     *
+     * @param id owner id.
+     * @return owner response, or {@link pet.odyvanck.petclinic.domain.error.EntityNotFoundException} error.
+     */
+    Mono<OwnerResponse> getResponseById(@NotNull UUID id);
+}
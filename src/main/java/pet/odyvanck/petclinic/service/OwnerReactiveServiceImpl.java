@@ -0,0 +1,88 @@
+package pet.odyvanck.petclinic.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import pet.odyvanck.petclinic.dao.EstimatedPage;
+import pet.odyvanck.petclinic.dao.OwnerReactiveRepository;
+import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@ConditionalOnBooleanProperty("petclinic.reactive.enabled")
+@RequiredArgsConstructor
+public class OwnerReactiveServiceImpl implements OwnerReactiveService {
+
+    private final OwnerReactiveRepository ownerReactiveRepository;
+
+    /**
+     * Page and count are read one after another, so a request holds at most one connection.
+     */
+    @Override
+    public Mono<Slice<OwnerResponse>> getAllResponses(
+            PageRequest pageRequest,
+            CountMode countMode,
+            OwnerRequestParams filter
+    ) {
+        OwnerFilter ownerFilter = OwnerFilter.of(filter);
+        Sort sort = pageRequest.getSort();
+        long offset = pageRequest.getOffset();
+        int size = pageRequest.getPageSize();
+        if (countMode != CountMode.EXACT) {
+            // one extra row tells whether the next page exists
+            Mono<Slice<OwnerResponse>> slice = ownerReactiveRepository
+                    .findResponses(ownerFilter, sort, offset, size + 1)
+                    .collectList()
+                    .map(content -> {
+                        boolean hasNext = content.size() > size;
+                        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, pageRequest, hasNext);
+                    });
+            return countMode == CountMode.NONE ? slice : slice.flatMap(page -> estimatedPage(page, ownerFilter));
+        }
+        return ownerReactiveRepository.findResponses(ownerFilter, sort, offset, size)
+                .collectList()
+                .flatMap(content -> total(content, pageRequest, ownerFilter)
+                        .map(total -> new PageImpl<>(content, pageRequest, total)));
+    }
+
+    @Override
+    public Mono<OwnerResponse> getResponseById(UUID id) {
+        return ownerReactiveRepository.findResponseById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Owner", "id", id.toString())));
+    }
+
+    /**
+     * Like {@link org.springframework.data.support.PageableExecutionUtils}, owners are not counted
+     * when the page itself tells their total.
+     */
+    private Mono<Long> total(List<OwnerResponse> content, PageRequest pageRequest, OwnerFilter filter) {
+        if (content.size() < pageRequest.getPageSize() && (pageRequest.getOffset() == 0 || !content.isEmpty())) {
+            return Mono.just(pageRequest.getOffset() + content.size());
+        }
+        return ownerReactiveRepository.count(filter)
+                .map(count -> filter.rankedTotal(pageRequest.getSort(), count));
+    }
+
+    /**
+     * Like {@link pet.odyvanck.petclinic.dao.OwnerResponseRepository}, only total of the page is estimated.
+     */
+    private Mono<Slice<OwnerResponse>> estimatedPage(Slice<OwnerResponse> slice, OwnerFilter filter) {
+        if (EstimatedPage.isTotalKnown(slice)) {
+            return Mono.just(EstimatedPage.of(slice, 0));
+        }
+        return ownerReactiveRepository.estimatedCount(filter)
+                .map(count -> EstimatedPage.of(slice, filter.rankedTotal(slice.getSort(), count)));
+    }
+}
@@ -0,0 +1,17 @@
+package pet.odyvanck.petclinic.service;
+
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.User;
+
+/**
+ * Single item of bulk owner registration.
+ * @param owner owner information.
+ * @param user user related information.
+ * @param password raw password.
+ */
+public record OwnerRegistration(
+        Owner owner,
+        User user,
+        String password
+) {
+}
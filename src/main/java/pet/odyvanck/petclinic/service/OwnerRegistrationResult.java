@@ -0,0 +1,25 @@
+package pet.odyvanck.petclinic.service;
+
+import pet.odyvanck.petclinic.domain.Owner;
+
+/**
+ * Outcome of single item of bulk owner registration.
+ * @param owner created owner, null if item was rejected.
+ * @param error reason of rejection, null if owner was created.
+ */
+public record OwnerRegistrationResult(
+        Owner owner,
+        String error
+) {
+    public static OwnerRegistrationResult registered(Owner owner) {
+        return new OwnerRegistrationResult(owner, null);
+    }
+
+    public static OwnerRegistrationResult rejected(String error) {
+        return new OwnerRegistrationResult(null, error);
+    }
+
+    public boolean isRegistered() {
+        return owner != null;
+    }
+}
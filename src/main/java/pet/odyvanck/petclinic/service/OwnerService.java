@@ -1,15 +1,26 @@
 package pet.odyvanck.petclinic.service;
 
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerUpdateRequest;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface OwnerService {
 
@@ -24,36 +35,96 @@ public interface OwnerService {
     Owner register(@NotNull Owner owner, @NotNull User user, @NotNull String password);
 
     /**
-     * Gets information about owners according to request.
+     * Registers many owners at once.
+     * Emails are checked with one query, passwords are hashed in parallel before transaction is opened,
+     * users and owners are inserted in batches of conflict-aware inserts.
+     * Owners with email which is already taken, in the system, earlier in the list or by concurrent registration,
+     * are rejected, the rest are registered anyway.
+     *
+     * @param registrations owners to register.
+     * @return results in the same order as registrations.
+     */
+    List<OwnerRegistrationResult> registerAll(@NotNull List<OwnerRegistration> registrations);
+
+    /**
+     * Gets owner responses according to request, without loading owner and user entities.
      *
      * @param pageRequest page request for getting owner.
+     * @param countMode   how total elements are counted.
      * @param filter      filter params for owner.
-     * @return owner list according to params.
+     * @param fields      response fields to read, the rest are left null.
+     * @return page of owner responses, or slice without totals if count mode is {@link CountMode#NONE}.
      */
-    Page<Owner> getAll(@NotNull PageRequest pageRequest, @NotNull OwnerRequestParams filter);
+    Slice<OwnerResponse> getAllResponses(
+            @NotNull PageRequest pageRequest,
+            @NotNull CountMode countMode,
+            @NotNull OwnerRequestParams filter,
+            @NotNull Set<OwnerField> fields
+    );
+
+    /**
+     * Passes every owner response matching filter to consumer one by one, in owner id order.
+     * Responses are read from database cursor, so memory use doesn't depend on number of owners.
+     *
+     * @param filter   filter params for owner.
+     * @param consumer receives responses, it's called inside read-only transaction.
+     */
+    void exportResponses(@NotNull OwnerRequestParams filter, @NotNull Consumer<OwnerResponse> consumer);
+
+    /**
+     * Gets owners following the keyset position, total elements are not counted.
+     *
+     * @param position position after the last seen owner.
+     * @param sort     sorting of owners, owner id is always added as a tiebreaker.
+     * @param limit    max owners in the window.
+     * @param filter   filter params for owner.
+     * @return owners window and position to continue from.
+     */
+    Window<Owner> getAll(@NotNull KeysetScrollPosition position, @NotNull Sort sort, int limit,
+                         @NotNull OwnerRequestParams filter);
 
     /**
      * Updates owner fields.
+     * If expected version is given, owner is updated only when it still has this version.
      *
-     * @param id      unique owner id.
-     * @param request fields to update.
+     * @param id              unique owner id.
+     * @param request         fields to update.
+     * @param expectedVersion version the client has seen, null to update any version.
      * @return updated entity.
      */
-    Owner update(UUID id, @Valid @NotNull OwnerUpdateRequest request);
+    Owner update(UUID id, @Valid @NotNull OwnerUpdateRequest request, @Nullable OwnerVersion expectedVersion);
+
+    /**
+     * Gets owner by id, owner may be read from cache.
+     *
+     * @param id unique owner id.
+     * @return immutable snapshot of owner with its versions.
+     */
+    OwnerSnapshot getById(@NotNull UUID id);
+
+    /**
+     * Gets many owners by ids at once, missing owners are reported instead of failing the lookup.
+     * Cached owners are taken from cache, the rest are read with one query together with their users.
+     *
+     * @param ids unique owner ids, repeated ids are looked up once.
+     * @return found owners and missing ids, both in order of ids.
+     */
+    OwnerLookupResult getAllByIds(@NotNull List<UUID> ids);
 
     /**
-     * Gets owner by id
+     * Gets current version of owner without loading it.
      *
      * @param id unique owner id.
-     * @return owner entity.
+     * @return versions of owner and its user.
      */
-    Owner getById(@NotNull UUID id);
+    OwnerVersion getVersion(@NotNull UUID id);
 
     /**
-     * Deletes owner by id.
+     * Deletes owner by id together with its user.
      *
      * @param id unique owner id.
+     * @return true if owner existed.
      */
-    void deleteById(@NotNull UUID id);
+    boolean deleteById(@NotNull UUID id);
 
 }
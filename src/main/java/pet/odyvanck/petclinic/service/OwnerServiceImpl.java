@@ -1,78 +1,275 @@
 package pet.odyvanck.petclinic.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import pet.odyvanck.petclinic.dao.OwnerRepository;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
 import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.domain.error.EntityVersionMismatchException;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
 import pet.odyvanck.petclinic.service.specification.OwnerSpecification;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerUpdateRequest;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "petclinic.owner.service", histogram = true)
 public class OwnerServiceImpl implements OwnerService {
 
+    static final String REGISTERED_COUNTER = "petclinic.owners.registered";
+
     private final UserService userService;
     private final OwnerRepository ownerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
 
-    @Transactional
+    /**
+     * Password is hashed before transaction is opened, then user and owner are inserted with one statement.
+     * Taken email is detected by the insert itself, so concurrent registrations with the same email are safe.
+     */
     @Override
     public Owner register(Owner owner, User user, String password) {
         Objects.requireNonNull(owner, "owner must be not null");
 
-        var savedUser = userService.register(user, password);
-        owner.setUser(savedUser);
-        return ownerRepository.save(owner);
+        owner.setUser(userService.prepareRegistration(user, password));
+        boolean inserted = Boolean.TRUE.equals(
+                transactionTemplate.execute(status -> ownerRepository.insertWithUser(owner))
+        );
+        if (!inserted) {
+            throw new EntityAlreadyExistsException("User", "email", user.getEmail());
+        }
+        meterRegistry.counter(REGISTERED_COUNTER, "mode", "single").increment();
+        return owner;
+    }
+
+    /**
+     * Emails taken before the request are looked up first only to skip hashing their passwords.
+     * Whether email is free is decided by the insert itself, like in {@link #register},
+     * so an email taken by a concurrent registration rejects its owner, not the whole list.
+     */
+    @Override
+    public List<OwnerRegistrationResult> registerAll(List<OwnerRegistration> registrations) {
+        Set<String> taken = userService.findRegisteredEmails(registrations.stream()
+                .map(registration -> registration.user().getEmail())
+                .collect(Collectors.toSet()));
+
+        List<OwnerRegistrationResult> results = new ArrayList<>(registrations.size());
+        List<Integer> positions = new ArrayList<>(registrations.size());
+        List<Owner> owners = new ArrayList<>(registrations.size());
+        List<User> users = new ArrayList<>(registrations.size());
+        List<String> passwords = new ArrayList<>(registrations.size());
+        Set<String> accepted = new HashSet<>();
+        for (OwnerRegistration registration : registrations) {
+            String email = registration.user().getEmail();
+            if (taken.contains(email) || !accepted.add(email)) {
+                results.add(emailTaken(email));
+                continue;
+            }
+            Owner owner = registration.owner();
+            owner.setUser(registration.user());
+            positions.add(results.size());
+            owners.add(owner);
+            users.add(registration.user());
+            passwords.add(registration.password());
+            results.add(null);
+        }
+
+        userService.prepareRegistrations(users, passwords);
+        boolean[] inserted = Objects.requireNonNull(
+                transactionTemplate.execute(status -> ownerRepository.insertAllWithUsers(owners))
+        );
+        int registered = 0;
+        for (int i = 0; i < owners.size(); i++) {
+            Owner owner = owners.get(i);
+            if (inserted[i]) {
+                registered++;
+                results.set(positions.get(i), OwnerRegistrationResult.registered(owner));
+            } else {
+                results.set(positions.get(i), emailTaken(owner.getUser().getEmail()));
+            }
+        }
+        meterRegistry.counter(REGISTERED_COUNTER, "mode", "bulk").increment(registered);
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<OwnerResponse> getAllResponses(
+            PageRequest pageRequest,
+            CountMode countMode,
+            OwnerRequestParams filter,
+            Set<OwnerField> fields
+    ) {
+        return ownerRepository.findAllResponses(OwnerFilter.of(filter), pageRequest, countMode, fields);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Page<Owner> getAll(PageRequest pageRequest, OwnerRequestParams filter) {
-        var spec = Specification.<Owner>unrestricted().and(OwnerSpecification.hasEmail(filter.email()))
-                .and(OwnerSpecification.hasPhone(filter.phone()))
-                .and(OwnerSpecification.hasFirstName(filter.firstName()));
-        return ownerRepository.findAll(spec, pageRequest);
+    public void exportResponses(OwnerRequestParams filter, Consumer<OwnerResponse> consumer) {
+        try (Stream<OwnerResponse> responses = ownerRepository.streamResponses(OwnerFilter.of(filter))) {
+            responses.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Window<Owner> getAll(KeysetScrollPosition position, Sort sort, int limit, OwnerRequestParams filter) {
+        Objects.requireNonNull(position, "position must be not null");
+        Objects.requireNonNull(sort, "sort must be not null");
+
+        Specification<Owner> specification = buildSpecification(filter)
+                .and(OwnerSpecification.atOrAfter(position, sort));
+        return ownerRepository.findBy(specification, query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(position));
+    }
+
+    /**
+     * Owner is read through cache, concurrent misses of the same id wait for one load.
+     * Missing id is cached as well, for a shorter time.
+     * Cache keeps immutable snapshots, not entities, so a caller can't change what others read.
+     */
+    @Override
+    public OwnerSnapshot getById(UUID id) {
+        Objects.requireNonNull(id, "owner id must be not null");
+        OwnerSnapshot owner = ownerCache().get(id, () -> ownerRepository.findById(id).map(OwnerSnapshot::of).orElse(null));
+        if (owner == null) {
+            throw new EntityNotFoundException("Owner", "id", id.toString());
+        }
+        return owner;
+    }
+
+    /**
+     * Owners missing in cache are not put there, a concurrent update could be evicted before the put
+     * and the old owner would stay cached. Single owner reads fill the cache instead.
+     */
+    @Override
+    public OwnerLookupResult getAllByIds(List<UUID> ids) {
+        Objects.requireNonNull(ids, "owner ids must be not null");
+
+        Cache cache = ownerCache();
+        Map<UUID, OwnerResponse> owners = new HashMap<>();
+        Set<UUID> uncached = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            Cache.ValueWrapper cached = cache.get(id);
+            if (cached == null) {
+                uncached.add(id);
+            } else if (cached.get() instanceof OwnerSnapshot owner) {
+                owners.put(id, owner.owner());
+            }
+        }
+        if (!uncached.isEmpty()) {
+            for (Owner owner : ownerRepository.findAllWithUserByIds(uncached)) {
+                owners.put(owner.getId(), OwnerSnapshot.of(owner).owner());
+            }
+        }
+
+        List<OwnerResponse> found = new ArrayList<>(owners.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            OwnerResponse owner = owners.get(id);
+            if (owner != null) {
+                found.add(owner);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new OwnerLookupResult(found, missing);
     }
 
     @Transactional(readOnly = true)
-    public Owner getById(UUID id) {
+    @Override
+    public OwnerVersion getVersion(UUID id) {
         Objects.requireNonNull(id, "owner id must be not null");
-        return ownerRepository.findById(id)
+        return ownerRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Owner", "id", id.toString()));
     }
 
+    /**
+     * Owner and user are updated with one statement, without loading them first.
+     * Owner is looked up again only to tell missing owner from version mismatch.
+     */
     @Transactional
-    public Owner update(UUID id, OwnerUpdateRequest fieldsToUpdate) {
+    @Override
+    public Owner update(UUID id, OwnerUpdateRequest fieldsToUpdate, OwnerVersion expectedVersion) {
         Objects.requireNonNull(fieldsToUpdate, "fields to update must be not null");
         Objects.requireNonNull(id, "owner id must be not null");
 
-        Owner owner = getById(id);
-        owner.setPhone(fieldsToUpdate.phone());
-        owner.setAddress(fieldsToUpdate.address());
-        owner.getUser().setFirstName(fieldsToUpdate.firstName());
-        owner.getUser().setLastName(fieldsToUpdate.lastName());
-        owner.setUpdatedAt(LocalDateTime.now(ZoneOffset.UTC));
-        return ownerRepository.save(owner);
+        Owner updated = ownerRepository.updateWithUser(
+                        id, fieldsToUpdate, expectedVersion, LocalDateTime.now(clock))
+                .orElseThrow(() -> expectedVersion != null && ownerRepository.findVersionById(id).isPresent()
+                        ? new EntityVersionMismatchException("Owner", "id", id.toString())
+                        : new EntityNotFoundException("Owner", "id", id.toString()));
+        evictAfterCommit(id);
+        return updated;
     }
 
     @Transactional
-    public void deleteById(UUID id) {
+    @Override
+    public boolean deleteById(UUID id) {
         Objects.requireNonNull(id, "owner id must be not null");
 
-        if (ownerRepository.existsById(id)) {
-            ownerRepository.deleteById(id);
+        boolean deleted = ownerRepository.deleteWithUser(id);
+        if (deleted) {
+            evictAfterCommit(id);
         }
+        return deleted;
+    }
+
+    private static OwnerRegistrationResult emailTaken(String email) {
+        return OwnerRegistrationResult.rejected(new EntityAlreadyExistsException("User", "email", email).getMessage());
+    }
+
+    private Cache ownerCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.OWNERS_CACHE), "owners cache");
+    }
+
+    /**
+     * Evicts when the change is committed, a reader can't put the old owner back after that.
+     */
+    private void evictAfterCommit(UUID id) {
+        new TransactionAwareCacheDecorator(ownerCache()).evict(id);
+    }
+
+    private Specification<Owner> buildSpecification(OwnerRequestParams filter) {
+        return OwnerSpecification.fetchUser().and(OwnerSpecification.matches(OwnerFilter.of(filter)));
     }
 
 }
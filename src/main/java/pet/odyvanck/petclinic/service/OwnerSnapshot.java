@@ -0,0 +1,31 @@
+package pet.odyvanck.petclinic.service;
+
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+
+/**
+ * Immutable copy of owner as it was read, safe to cache and share between callers.
+ * User credentials are not copied.
+ * @param owner owner fields with its user fields.
+ * @param version versions of owner and its user at the time of reading.
+ */
+public record OwnerSnapshot(
+        OwnerResponse owner,
+        OwnerVersion version
+) {
+
+    public static OwnerSnapshot of(Owner owner) {
+        return new OwnerSnapshot(new OwnerResponse(
+                owner.getId(),
+                owner.getUser().getId(),
+                owner.getUser().getFirstName(),
+                owner.getUser().getLastName(),
+                owner.getPhone(),
+                owner.getUser().getEmail(),
+                owner.getAddress(),
+                owner.getCreatedAt(),
+                owner.getUpdatedAt()
+        ), OwnerVersion.of(owner));
+    }
+}
@@ -0,0 +1,66 @@
+package pet.odyvanck.petclinic.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Hashes passwords on dedicated executor sized for CPU bound work.
+ * Callers wait for the hash before opening transaction, so no db connection is held while hashing.
+ */
+public class PasswordHasher implements AutoCloseable {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder, ExecutorService executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+    }
+
+    /**
+     * Hashes single password.
+     * @param rawPassword raw password.
+     * @return password hash.
+     */
+    public String hash(String rawPassword) {
+        return await(submit(rawPassword));
+    }
+
+    /**
+     * Hashes passwords in parallel.
+     * @param rawPasswords raw passwords.
+     * @return password hashes in the same order.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<Future<String>> hashes = rawPasswords.stream()
+                .map(this::submit)
+                .toList();
+        return hashes.stream()
+                .map(PasswordHasher::await)
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private Future<String> submit(String rawPassword) {
+        return executor.submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private static String await(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
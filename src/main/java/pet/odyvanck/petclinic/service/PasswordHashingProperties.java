@@ -0,0 +1,18 @@
+package pet.odyvanck.petclinic.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Password hashing settings.
+ * @param strength BCrypt log rounds, every increment doubles hashing time.
+ * @param threads hashing threads, number of available processors if not positive.
+ * @param queueCapacity passwords waiting for a free thread, above it callers hash on their own thread.
+ */
+@ConfigurationProperties("petclinic.password")
+public record PasswordHashingProperties(
+        @DefaultValue("10") int strength,
+        @DefaultValue("0") int threads,
+        @DefaultValue("1000") int queueCapacity
+) {
+}
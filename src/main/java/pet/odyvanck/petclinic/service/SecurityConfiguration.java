@@ -1,15 +1,53 @@
 package pet.odyvanck.petclinic.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class SecurityConfiguration {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        return new BCryptPasswordEncoder(properties.strength());
+    }
+
+    /**
+     * Hasher with bounded pool and queue, when queue is full the caller hashes itself,
+     * which slows down incoming registrations instead of piling them up.
+     * Queue wait and hashing time are published as executor metrics named "password.hashing".
+     */
+    @Bean
+    public PasswordHasher passwordHasher(
+            PasswordEncoder passwordEncoder,
+            PasswordHashingProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        int threads = properties.threads() > 0 ? properties.threads() : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("password-hasher-", 0).daemon().factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            executor = ExecutorServiceMetrics.monitor(registry, executor, "password.hashing");
+        }
+        return new PasswordHasher(passwordEncoder, executor);
     }
 }
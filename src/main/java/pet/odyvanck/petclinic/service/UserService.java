@@ -3,13 +3,43 @@ package pet.odyvanck.petclinic.service;
 import jakarta.validation.constraints.NotNull;
 import pet.odyvanck.petclinic.domain.User;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 public interface UserService {
 
     /**
      * Registrates user in the system.
+     * Password is hashed before transaction is opened, then email is checked and user is saved in one transaction.
      * @param user user info.
      * @param password raw password.
      * @return created user.
      */
     User register(@NotNull User user, @NotNull String password);
+
+    /**
+     * Hashes password, nothing is checked or saved, email uniqueness is left to insert.
+     * It's slow because of hashing, so it must be called before transaction is opened.
+     * @param user user info.
+     * @param password raw password.
+     * @return the same user, active and with password hash.
+     */
+    User prepareRegistration(@NotNull User user, @NotNull String password);
+
+    /**
+     * Finds which of emails are already taken, with one query for all of them.
+     * @param emails emails to check.
+     * @return taken emails.
+     */
+    Set<String> findRegisteredEmails(@NotNull Collection<String> emails);
+
+    /**
+     * Hashes passwords of users in parallel, nothing is checked or saved, email uniqueness is left to insert.
+     * It's slow because of hashing, so it must be called before transaction is opened.
+     * @param users users info.
+     * @param passwords raw passwords in the same order as users.
+     * @return the same users, active and with password hashes.
+     */
+    List<User> prepareRegistrations(@NotNull List<User> users, @NotNull List<String> passwords);
 }
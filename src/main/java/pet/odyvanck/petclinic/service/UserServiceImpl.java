@@ -1,37 +1,77 @@
 package pet.odyvanck.petclinic.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import pet.odyvanck.petclinic.dao.UserRepository;
 import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
 import pet.odyvanck.petclinic.domain.User;
 import pet.odyvanck.petclinic.domain.UserStatus;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "petclinic.user.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    /**
+     * Password is hashed before transaction is opened, then email check and save run in one transaction.
+     */
     @Override
     public User register(User user, String password) {
         Objects.requireNonNull(user, "user must be not null");
+
+        User prepared = prepareRegistration(user, password);
+        return transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(prepared.getEmail())) {
+                throw new EntityAlreadyExistsException("User", "email", prepared.getEmail());
+            }
+            return userRepository.save(prepared);
+        });
+    }
+
+    @Override
+    public User prepareRegistration(User user, String password) {
+        Objects.requireNonNull(user, "user must be not null");
         Objects.requireNonNull(password, "password must be not null");
 
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new EntityAlreadyExistsException("User", "email", user.getEmail());
+        user.setPasswordHash(passwordHasher.hash(password));
+        user.setStatus(UserStatus.ACTIVE);
+        return user;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Set<String> findRegisteredEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
         }
+        return userRepository.findEmailsIn(emails);
+    }
 
-        user.setPasswordHash(passwordEncoder.encode(password));
-        user.setStatus(UserStatus.ACTIVE);
+    @Override
+    public List<User> prepareRegistrations(List<User> users, List<String> passwords) {
+        if (users.size() != passwords.size()) {
+            throw new IllegalArgumentException("every user must have password");
+        }
+        passwords.forEach(password -> Objects.requireNonNull(password, "password must be not null"));
 
-        return userRepository.save(user);
+        List<String> hashes = passwordHasher.hashAll(passwords);
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setPasswordHash(hashes.get(i));
+            users.get(i).setStatus(UserStatus.ACTIVE);
+        }
+        return users;
     }
 
 }
@@ -0,0 +1,179 @@
+package pet.odyvanck.petclinic.service.specification;
+
+import jakarta.annotation.Nullable;
+import org.springframework.data.domain.Sort;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Owner filters as conditions, all of them must match.
+ * This is the only definition of how filters match: JPA queries get them as predicates
+ * through {@link OwnerSpecification#matches}, native queries as SQL through {@link #toSql}.
+ * Conditions are built as {@code lower(column) = ?} and {@code lower(column) LIKE ?},
+ * exactly like the indexes from db.changelog-005-owner-search-indexes.sql and db.changelog-008-owner-search-text.sql.
+ *
+ * @param conditions conditions to match.
+ * @param searchText search text the conditions of {@link Column#SEARCH_TEXT} were built from, owners are ranked by it.
+ */
+public record OwnerFilter(List<Condition> conditions, @Nullable String searchText) {
+
+    public static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * Maximum number of owners found by search text that are ranked by relevance.
+     * Ranking sorts all of them, so it's bounded to keep common words as cheap as rare ones,
+     * and totals of ranked owners are bounded as well, see {@link #rankedTotal}.
+     */
+    public static final int RANKED_CANDIDATES = 1000;
+
+    /**
+     * Filtered column, as owner entity property and as SQL column of {@code owners o JOIN users u}.
+     * Search text is kept in lower case, so it's not wrapped in {@code lower()}.
+     */
+    public enum Column {
+        EMAIL(true, "email", "u.email", true),
+        PHONE(false, "phone", "o.phone", false),
+        FIRST_NAME(true, "firstName", "u.first_name", true),
+        LAST_NAME(true, "lastName", "u.last_name", true),
+        SEARCH_TEXT(false, "searchText", "o.search_text", false);
+
+        private final boolean userColumn;
+        private final String property;
+        private final String sql;
+        private final boolean ignoreCase;
+
+        Column(boolean userColumn, String property, String sql, boolean ignoreCase) {
+            this.userColumn = userColumn;
+            this.property = property;
+            this.sql = sql;
+            this.ignoreCase = ignoreCase;
+        }
+
+        public boolean isUserColumn() {
+            return userColumn;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public boolean ignoreCase() {
+            return ignoreCase;
+        }
+    }
+
+    public enum Match {
+        EQUALS,
+        CONTAINS
+    }
+
+    public record Condition(Column column, Match match, String value) {
+
+        /**
+         * Value to compare column with: lower-cased if case is ignored, escaped "contains" pattern for LIKE.
+         */
+        public String argument() {
+            if (match == Match.CONTAINS) {
+                return contains(value);
+            }
+            return column.ignoreCase ? value.toLowerCase() : value;
+        }
+
+        private String toSql(String parameter) {
+            String column = this.column.ignoreCase ? "lower(" + this.column.sql + ")" : this.column.sql;
+            return match == Match.EQUALS
+                    ? column + " = :" + parameter
+                    : column + " LIKE :" + parameter + " ESCAPE '" + LIKE_ESCAPE + "'";
+        }
+    }
+
+    /**
+     * Builds conditions of given filters, every word of search text must be found in owner search text.
+     */
+    public static OwnerFilter of(OwnerRequestParams params) {
+        List<Condition> conditions = new ArrayList<>();
+        add(conditions, Column.EMAIL, Match.EQUALS, params.email());
+        add(conditions, Column.PHONE, Match.EQUALS, params.phone());
+        add(conditions, Column.FIRST_NAME, Match.CONTAINS, params.firstName());
+        add(conditions, Column.LAST_NAME, Match.CONTAINS, params.lastName());
+        String q = params.q();
+        if (q == null || q.isBlank()) {
+            return new OwnerFilter(List.copyOf(conditions), null);
+        }
+        searchWords(q).forEach(word -> conditions.add(new Condition(Column.SEARCH_TEXT, Match.CONTAINS, word)));
+        return new OwnerFilter(List.copyOf(conditions), q.trim().toLowerCase());
+    }
+
+    /**
+     * Whether owners are ranked by relevance to search text, they are unless other sorting is requested.
+     */
+    public boolean isRanked(Sort sort) {
+        return searchText != null && sort.isUnsorted();
+    }
+
+    /**
+     * Bounds total of ranked owners by {@link #RANKED_CANDIDATES}, only they can be found on pages,
+     * so total pages and the last page agree with the pages themselves.
+     * @param total owners matching the filter.
+     */
+    public long rankedTotal(Sort sort, long total) {
+        return isRanked(sort) ? Math.min(total, RANKED_CANDIDATES) : total;
+    }
+
+    public boolean isEmpty() {
+        return conditions.isEmpty();
+    }
+
+    /**
+     * Whether any condition is on user column, so users must be joined.
+     */
+    public boolean joinsUser() {
+        return conditions.stream().anyMatch(condition -> condition.column().isUserColumn());
+    }
+
+    /**
+     * Renders conditions as SQL with named parameters, owners are aliased as {@code o} and users as {@code u}.
+     * @param arguments receives values of the parameters.
+     * @return conditions joined with AND, empty string if there are none.
+     */
+    public String toSql(Map<String, Object> arguments) {
+        StringJoiner sql = new StringJoiner(" AND ");
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            String parameter = "filter" + i;
+            arguments.put(parameter, condition.argument());
+            sql.add(condition.toSql(parameter));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Splits search text into words, each of them must be found in owner search text.
+     */
+    public static List<String> searchWords(String q) {
+        return Arrays.asList(q.trim().split("\\s+"));
+    }
+
+    /**
+     * Builds case-insensitive "contains" pattern, user input can't add own wildcards.
+     * Pattern is matched with backslash as escape character.
+     */
+    public static String contains(String value) {
+        String escaped = value.toLowerCase()
+                .replace(String.valueOf(LIKE_ESCAPE), String.valueOf(LIKE_ESCAPE) + LIKE_ESCAPE)
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return "%" + escaped + "%";
+    }
+
+    private static void add(List<Condition> conditions, Column column, Match match, @Nullable String value) {
+        if (value != null) {
+            conditions.add(new Condition(column, match, value));
+        }
+    }
+}
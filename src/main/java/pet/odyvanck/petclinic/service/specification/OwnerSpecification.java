@@ -1,23 +1,128 @@
 package pet.odyvanck.petclinic.service.specification;
 
-import jakarta.annotation.Nullable;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.User;
 
+import java.util.UUID;
+
+/**
+ * Specifications of owner queries, filters are defined by {@link OwnerFilter}.
+ */
 public class OwnerSpecification {
 
-    public static Specification<Owner> hasEmail(@Nullable String email) {
-        return (root, query, cb) ->
-                email == null ? null : cb.equal(cb.lower(root.get("user").get("email")), email.toLowerCase());
+    /**
+     * Fetches user in the same statement when owners are selected.
+     * Join is inner, every owner has user since db.changelog-010-owner-user-not-null.sql.
+     * Count queries are left without join, and filters by user fields reuse this fetch.
+     */
+    public static Specification<Owner> fetchUser() {
+        return (root, query, cb) -> {
+            if (query != null && Owner.class.equals(query.getResultType())) {
+                root.fetch("user", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Owners matching all conditions of the filter.
+     */
+    public static Specification<Owner> matches(OwnerFilter filter) {
+        return (root, query, cb) -> filter.isEmpty() ? null : predicate(root, cb, filter);
+    }
+
+    /**
+     * Orders owners by similarity of their search text to the search text of filter, the most relevant first.
+     * Similarity can't be read from index in order, so only the first {@value OwnerFilter#RANKED_CANDIDATES}
+     * owners matching the filter, as index finds them, are ranked; totals are bounded by
+     * {@link OwnerFilter#rankedTotal} to the same number. Count queries are left as they are.
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<Owner> rankedBySearch(OwnerFilter filter) {
+        return (root, query, cb) -> {
+            if (query == null || Long.class.equals(query.getResultType())) {
+                return null;
+            }
+            query.orderBy(
+                    cb.desc(cb.function("word_similarity", Double.class,
+                            cb.literal(filter.searchText()), root.get("searchText"))),
+                    cb.asc(root.get("id"))
+            );
+            Subquery<UUID> candidates = query.subquery(UUID.class);
+            Root<Owner> candidate = candidates.from(Owner.class);
+            candidates.select(candidate.get("id")).where(predicate(candidate, cb, filter));
+            ((JpaSubQuery<UUID>) candidates).fetch(OwnerFilter.RANKED_CANDIDATES);
+            return root.get("id").in(candidates);
+        };
+    }
+
+    /**
+     * Bounds keyset page by the first sort key of position, e.g. {@code last_name >= ?} for ascending sorting.
+     * Keyset condition itself is a disjunction over all keys, index scan can't start from it,
+     * while this bound lets the scan start at the position instead of the first row.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Owner> atOrAfter(KeysetScrollPosition position, Sort sort) {
+        return (root, query, cb) -> {
+            Sort.Order first = sort.stream().findFirst().orElse(null);
+            if (first == null || position.isInitial()) {
+                return null;
+            }
+            String property = first.getProperty();
+            Expression path = property.startsWith("user.")
+                    ? user(root).get(property.substring("user.".length()))
+                    : root.get(property);
+            Comparable value = (Comparable) position.getKeys().get(property);
+            return first.isAscending() ? cb.greaterThanOrEqualTo(path, value) : cb.lessThanOrEqualTo(path, value);
+        };
+    }
+
+    private static Predicate predicate(Root<Owner> root, CriteriaBuilder cb, OwnerFilter filter) {
+        return cb.and(filter.conditions().stream()
+                .map(condition -> predicate(root, cb, condition))
+                .toArray(Predicate[]::new));
     }
 
-    public static Specification<Owner> hasPhone(@Nullable String phone) {
-        return (root, query, cb) ->
-                phone == null ? null : cb.equal(root.get("phone"), phone);
+    private static Predicate predicate(Root<Owner> root, CriteriaBuilder cb, OwnerFilter.Condition condition) {
+        OwnerFilter.Column column = condition.column();
+        Expression<String> path = column.isUserColumn()
+                ? user(root).get(column.property())
+                : root.get(column.property());
+        if (column.ignoreCase()) {
+            path = cb.lower(path);
+        }
+        return condition.match() == OwnerFilter.Match.EQUALS
+                ? cb.equal(path, condition.argument())
+                : cb.like(path, condition.argument(), OwnerFilter.LIKE_ESCAPE);
     }
 
-    public static Specification<Owner> hasFirstName(@Nullable String firstName) {
-        return (root, query, cb) ->
-                firstName == null ? null : cb.like(cb.lower(root.get("user").get("firstName")), "%" + firstName.toLowerCase() + "%");
+    /**
+     * Reuses join to user if it's already present in query, so several filters produce one join.
+     */
+    @SuppressWarnings("unchecked")
+    private static From<Owner, User> user(Root<Owner> root) {
+        for (var fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("user") && fetch instanceof Join<?, ?> join) {
+                return (Join<Owner, User>) join;
+            }
+        }
+        for (var join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("user")) {
+                return (Join<Owner, User>) join;
+            }
+        }
+        return root.join("user", JoinType.INNER);
     }
 }
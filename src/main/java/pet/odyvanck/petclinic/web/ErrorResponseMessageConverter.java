@@ -0,0 +1,182 @@
+package pet.odyvanck.petclinic.web;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import pet.odyvanck.petclinic.web.dto.ErrorResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link ErrorResponse} as JSON from prebuilt fragments, the same way Jackson writes it.
+ * Error responses are cheap to produce, so serialization takes the most of e.g. 404 request;
+ * only details, which are rare and of any type, are written by Jackson.
+ * Fragments follow Jackson defaults with dates written as ISO strings, as Spring Boot configures them.
+ * On startup sample responses are written both ways, if "spring.jackson.*" settings make the application
+ * {@link ObjectMapper} write them differently, all error responses are written by the {@link ObjectMapper}.
+ */
+@Component
+public class ErrorResponseMessageConverter extends AbstractHttpMessageConverter<ErrorResponse> {
+
+    private static final Map<HttpStatus, byte[]> STATUS_PREFIXES = new EnumMap<>(HttpStatus.class);
+    private static final byte[] NULL_STATUS = bytes("{\"status\":null");
+    private static final byte[] MESSAGE = bytes(",\"message\":");
+    private static final byte[] DETAILS = bytes(",\"details\":");
+    private static final byte[] TIMESTAMP = bytes(",\"timestamp\":");
+    private static final byte[] NULL = bytes("null");
+    private static final byte QUOTE = '"';
+    private static final byte END = '}';
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            STATUS_PREFIXES.put(status, bytes("{\"status\":\"" + status.name() + "\""));
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean writesLikeObjectMapper;
+    /**
+     * Timestamp formatted up to seconds, errors of the same second reuse it.
+     */
+    private volatile FormattedSecond lastSecond = new FormattedSecond(Long.MIN_VALUE, new byte[0]);
+
+    public ErrorResponseMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.writesLikeObjectMapper = writesLikeObjectMapper();
+    }
+
+    /**
+     * Writes response as JSON.
+     * @param response error response.
+     * @param out stream to write to, it's not closed.
+     */
+    public void write(ErrorResponse response, OutputStream out) throws IOException {
+        if (writesLikeObjectMapper) {
+            writeFragments(response, out);
+        } else {
+            out.write(objectMapper.writeValueAsBytes(response));
+        }
+    }
+
+    private void writeFragments(ErrorResponse response, OutputStream out) throws IOException {
+        out.write(response.getStatus() != null ? STATUS_PREFIXES.get(response.getStatus()) : NULL_STATUS);
+        out.write(MESSAGE);
+        writeString(response.getMessage(), out);
+        if (response.getDetails() != null) {
+            out.write(DETAILS);
+            out.write(objectMapper.writeValueAsBytes(response.getDetails()));
+        }
+        out.write(TIMESTAMP);
+        if (response.getTimestamp() != null) {
+            writeTimestamp(response.getTimestamp(), out);
+        } else {
+            out.write(NULL);
+        }
+        out.write(END);
+    }
+
+    /**
+     * Writes timestamp like {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds are always written,
+     * fraction of second without trailing zeros and only if it's not zero.
+     */
+    private void writeTimestamp(LocalDateTime timestamp, OutputStream out) throws IOException {
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+        FormattedSecond second = lastSecond;
+        if (second.epochSecond() != epochSecond) {
+            second = new FormattedSecond(epochSecond,
+                    bytes("\"" + DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp.withNano(0))));
+            lastSecond = second;
+        }
+        out.write(second.bytes());
+        int nanos = timestamp.getNano();
+        if (nanos != 0) {
+            byte[] fraction = new byte[10];
+            fraction[0] = '.';
+            for (int i = 9; i > 0; i--) {
+                fraction[i] = (byte) ('0' + nanos % 10);
+                nanos /= 10;
+            }
+            int length = fraction.length;
+            while (fraction[length - 1] == '0') {
+                length--;
+            }
+            out.write(fraction, 0, length);
+        }
+        out.write(QUOTE);
+    }
+
+    private boolean writesLikeObjectMapper() {
+        ErrorResponse withDetails = new ErrorResponse(HttpStatus.BAD_REQUEST, "message", Map.of("field", "error"));
+        withDetails.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0));
+        ErrorResponse withFraction = new ErrorResponse(HttpStatus.NOT_FOUND, null);
+        withFraction.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0, 1, 120_000));
+        ErrorResponse withoutTimestamp = new ErrorResponse(null, "message");
+        withoutTimestamp.setTimestamp(null);
+        try {
+            for (ErrorResponse sample : List.of(withDetails, withFraction, withoutTimestamp)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                writeFragments(sample, out);
+                if (!Arrays.equals(out.toByteArray(), objectMapper.writeValueAsBytes(sample))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Can't write sample error response", ex);
+        }
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ErrorResponse readInternal(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Error responses are never read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ErrorResponse response, HttpOutputMessage outputMessage) throws IOException {
+        write(response, outputMessage.getBody());
+    }
+
+    private static void writeString(String value, OutputStream out) throws IOException {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        out.write(QUOTE);
+        out.write(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+        out.write(QUOTE);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record FormattedSecond(long epochSecond, byte[] bytes) {
+    }
+}
@@ -0,0 +1,63 @@
+package pet.odyvanck.petclinic.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import pet.odyvanck.petclinic.web.controller.OwnerReactiveHandler;
+
+/**
+ * Reactive read-only owner API under {@value #REACTIVE_PATH}, next to Spring MVC controllers.
+ * WebFlux routes are served by their own servlet with non-blocking servlet IO, so a request holds neither
+ * a thread nor a database connection while it waits; reads go to R2DBC pool configured by "spring.r2dbc".
+ * The API is served only with "petclinic.reactive.enabled", since its pool takes database connections
+ * next to JDBC pool.
+ */
+@Configuration
+@ConditionalOnBooleanProperty("petclinic.reactive.enabled")
+public class ReactiveWebConfiguration {
+
+    public static final String REACTIVE_PATH = "/api/v1/reactive";
+
+    @Bean
+    public RouterFunction<ServerResponse> ownerReactiveRoutes(OwnerReactiveHandler handler) {
+        return RouterFunctions.route()
+                .GET("/owners", handler::getAll)
+                .GET("/owners/{id}", handler::getById)
+                .onError(Throwable.class, handler::handleError)
+                .build();
+    }
+
+    /**
+     * JSON is written by Spring Boot mapper, like responses of controllers.
+     */
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveServlet(
+            RouterFunction<ServerResponse> ownerReactiveRoutes,
+            ObjectMapper objectMapper
+    ) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(ownerReactiveRoutes, strategies);
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration = new ServletRegistrationBean<>(
+                new ServletHttpHandlerAdapter(httpHandler), REACTIVE_PATH + "/*");
+        registration.setName("reactiveDispatcher");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
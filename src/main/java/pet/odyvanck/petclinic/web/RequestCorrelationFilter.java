@@ -0,0 +1,67 @@
+package pet.odyvanck.petclinic.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Puts "traceId" and "requestId" into MDC, so every log line of the request has them.
+ * Trace id is taken from W3C "traceparent" header and request id from "X-Request-Id" header,
+ * missing ones are generated. Request id is returned in "X-Request-Id" response header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCorrelationFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String TRACE_PARENT_HEADER = "traceparent";
+    public static final String TRACE_ID_KEY = "traceId";
+    public static final String REQUEST_ID_KEY = "requestId";
+
+    private static final Pattern TRACE_PARENT = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+    private static final Pattern REQUEST_ID = Pattern.compile("[\\w.:-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        MDC.put(TRACE_ID_KEY, traceId(request.getHeader(TRACE_PARENT_HEADER)));
+        MDC.put(REQUEST_ID_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(TRACE_ID_KEY);
+            MDC.remove(REQUEST_ID_KEY);
+        }
+    }
+
+    /**
+     * Ids from headers are checked, so clients can't put arbitrary text into logs.
+     */
+    private static String traceId(String traceParent) {
+        if (traceParent != null) {
+            var matcher = TRACE_PARENT.matcher(traceParent);
+            if (matcher.matches()) {
+                return matcher.group(1);
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong());
+    }
+}
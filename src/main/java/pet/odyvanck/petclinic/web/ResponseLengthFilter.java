@@ -0,0 +1,121 @@
+package pet.odyvanck.petclinic.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Ignores flushes of small response body, message converters flush after every body they write.
+ * Body smaller than "server.compression.min-response-size" is sent with Content-Length then, so it's not
+ * compressed; once body reaches that size flushes are passed on, so streamed exports are still sent
+ * when they flush, and compressed, as before.
+ * Reactive servlet is skipped, its non-blocking writes rely on flushes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ResponseLengthFilter extends OncePerRequestFilter {
+
+    private final long bufferedSize;
+
+    public ResponseLengthFilter(ServerProperties serverProperties) {
+        this.bufferedSize = serverProperties.getCompression().getMinResponseSize().toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return ReactiveWebConfiguration.REACTIVE_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, new SmallBodyResponse(response, bufferedSize));
+    }
+
+    private static class SmallBodyResponse extends HttpServletResponseWrapper {
+
+        private final long bufferedSize;
+        private SmallBodyOutputStream outputStream;
+
+        SmallBodyResponse(HttpServletResponse response, long bufferedSize) {
+            super(response);
+            this.bufferedSize = bufferedSize;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new SmallBodyOutputStream(super.getOutputStream(), bufferedSize);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (outputStream != null && outputStream.isBig()) {
+                super.flushBuffer();
+            }
+        }
+    }
+
+    private static class SmallBodyOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final long bufferedSize;
+        private long written;
+
+        SmallBodyOutputStream(ServletOutputStream delegate, long bufferedSize) {
+            this.delegate = delegate;
+            this.bufferedSize = bufferedSize;
+        }
+
+        boolean isBig() {
+            return written >= bufferedSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            written += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (isBig()) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package pet.odyvanck.petclinic.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import pet.odyvanck.petclinic.dao.StatementBudgetProperties;
+import pet.odyvanck.petclinic.dao.StatementTracker;
+import pet.odyvanck.petclinic.dao.StatementTracker.StatementUsage;
+
+import java.io.IOException;
+
+/**
+ * Tracks SQL statements of every request, records their number and time as "jdbc.request.statements"
+ * and "jdbc.request.time", tagged like "http.server.requests" by method and uri pattern.
+ * Requests over {@link StatementBudgetProperties} are logged and counted as "jdbc.request.budget.exceeded".
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final StatementTracker tracker;
+    private final StatementBudgetProperties budget;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        tracker.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            StatementUsage usage = tracker.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            record(request.getMethod(), uri, usage);
+        }
+    }
+
+    private void record(String method, String uri, StatementUsage usage) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+        DistributionSummary.builder("jdbc.request.statements")
+                .description("SQL statements executed by request")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(usage.statements());
+        Timer.builder("jdbc.request.time")
+                .description("Time request spent executing SQL statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(usage.jdbcTime());
+
+        int limit = budget.statements(method, uri);
+        if (usage.statements() > limit) {
+            log.warn("{} {} executed {} SQL statements, budget is {}", method, uri, usage.statements(), limit);
+            meterRegistry.counter("jdbc.request.budget.exceeded", tags.and("reason", "statements")).increment();
+        }
+        if (usage.mostRepeatedCount() > budget.repeatedStatements()) {
+            log.warn("{} {} executed the same SQL statement {} times, possible N+1 selects: {}",
+                    method, uri, usage.mostRepeatedCount(), usage.mostRepeatedSql());
+            meterRegistry.counter("jdbc.request.budget.exceeded", tags.and("reason", "repeated")).increment();
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package pet.odyvanck.petclinic.web.controller;
 
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
 import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.domain.error.EntityVersionMismatchException;
 import pet.odyvanck.petclinic.web.dto.ErrorResponse;
+import pet.odyvanck.petclinic.web.dto.validation.InvalidCursorException;
 
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * Unique constraints which mean that entity already exists, by constraint name.
+     */
+    private static final Map<String, UniqueField> UNIQUE_FIELDS = Map.of(
+            "users_email_key", new UniqueField("User", "email")
+    );
+
     /**
      * Handles entity already exists exception.
      * @param ex
@@ -29,6 +49,56 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    /**
+     * Handles unique violations raised by database, e.g. when concurrent requests insert the same email.
+     * They are reported as already existing entity, other violations are internal errors.
+     * @param ex
+     * @return
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                && UNIQUE_FIELDS.containsKey(violation.getConstraintName())) {
+            UniqueField field = UNIQUE_FIELDS.get(violation.getConstraintName());
+            return handleEntityAlreadyExists(new EntityAlreadyExistsException(field.entityName(), field.fieldName()));
+        }
+        return handleGeneric(ex);
+    }
+
+    /**
+     * Handles updates of entity which was modified since client read it,
+     * either detected by expected version or by optimistic lock on commit.
+     * @param ex
+     * @return
+     */
+    @ExceptionHandler({EntityVersionMismatchException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleVersionMismatch(RuntimeException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED,
+                ex instanceof EntityVersionMismatchException ? ex.getMessage() : "Entity has been modified concurrently"
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * Handles requests which didn't get database connection in time, they may be retried later.
+     * Other resource failures are internal errors.
+     * @param ex
+     * @return
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(NestedRuntimeException ex) {
+        if (!(ex.getMostSpecificCause() instanceof SQLTransientConnectionException)) {
+            return handleGeneric(ex);
+        }
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Service is overloaded, try again later"
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     /**
      * Handles validation errors.
      * @param ex
@@ -51,6 +121,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
 
+    /**
+     * Handles malformed or outdated pagination cursor.
+     * @param ex
+     * @return
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage()
+        );
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    /**
+     * Handles request parameters which can't be converted to expected type.
+     * @param ex
+     * @return
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST,
+                "Invalid value of parameter '%s': %s".formatted(ex.getName(), ex.getValue())
+        );
+        return ResponseEntity.badRequest().body(error);
+    }
+
     /**
      * Handles not found entity exceptions
      * @param ex
@@ -68,12 +166,13 @@ public class GlobalExceptionHandler {
 
     /**
      * Handles internal server errors.
+     * Error is only queued by asynchronous appender, the request doesn't wait for log output.
      * @param ex
      * @return
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex) {
-        //add logs
+        log.error("Request failed with unexpected error", ex);
         ErrorResponse response = new ErrorResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR,
                 "Something went wrong"
@@ -82,4 +181,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    private record UniqueField(String entityName, String fieldName) {
+    }
+
 }
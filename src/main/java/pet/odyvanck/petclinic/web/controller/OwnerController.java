@@ -2,19 +2,33 @@ package pet.odyvanck.petclinic.web.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.domain.error.EntityVersionMismatchException;
+import pet.odyvanck.petclinic.service.OwnerLookupResult;
+import pet.odyvanck.petclinic.service.OwnerRegistration;
+import pet.odyvanck.petclinic.service.OwnerRegistrationResult;
 import pet.odyvanck.petclinic.service.OwnerService;
+import pet.odyvanck.petclinic.service.OwnerSnapshot;
 import pet.odyvanck.petclinic.web.dto.*;
 import pet.odyvanck.petclinic.web.dto.owner.*;
 import pet.odyvanck.petclinic.web.mapper.OwnerMapper;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -24,7 +38,12 @@ public class OwnerController {
 
     private final OwnerService ownerService;
     private final OwnerMapper ownerMapper;
-    private final static Map<String, String> SORT_TRANSFORM = Map.of("email","user.email");
+    final static Map<String, String> SORT_TRANSFORM = Map.of(
+            "userId", "user.id",
+            "firstName", "user.firstName",
+            "lastName", "user.lastName",
+            "email", "user.email"
+    );
 
     /**
      * Registrates owner in system.
@@ -41,44 +60,135 @@ public class OwnerController {
         ).body(ownerMapper.toDto(created));
     }
 
+    /**
+     * Registrates many owners at once.
+     * Owners with already taken email are rejected, the rest are created.
+     * @param request owners information.
+     * @return result for each owner in request order.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<OwnerBulkCreationResponse> createAll(@Valid @RequestBody OwnerBulkCreationRequest request) {
+        List<OwnerRegistration> registrations = request.owners().stream()
+                .map(owner -> new OwnerRegistration(
+                        ownerMapper.toOwner(owner), ownerMapper.toUser(owner), owner.password()
+                ))
+                .toList();
+        List<OwnerRegistrationResult> results = ownerService.registerAll(registrations);
+
+        List<OwnerBulkItemResponse> items = new ArrayList<>(results.size());
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            OwnerRegistrationResult result = results.get(i);
+            if (result.isRegistered()) {
+                created++;
+                items.add(new OwnerBulkItemResponse(
+                        i, OwnerBulkItemResponse.Status.CREATED, ownerMapper.toDto(result.owner()), null
+                ));
+            } else {
+                items.add(new OwnerBulkItemResponse(
+                        i, OwnerBulkItemResponse.Status.REJECTED, null, result.error()
+                ));
+            }
+        }
+        return ResponseEntity.ok(new OwnerBulkCreationResponse(created, results.size() - created, items));
+    }
+
     /**
      * Gets all owners by request params.
+     * In keyset mode page number is ignored, the next page is requested with returned cursor.
+     * Count mode chooses whether totals are exact, estimated or not counted at all.
+     * With requested fields only they are returned, in offset mode only they are read from database as well.
+     * Owners found by search text are ranked by relevance in offset mode, if no sorting is requested,
+     * only the first {@value pet.odyvanck.petclinic.service.specification.OwnerFilter#RANKED_CANDIDATES}
+     * found, totals count no more than them, so total pages tell how far the ranked owners go.
      * @param paginationAndSorting contains page and sorting info.
      * @param ownerRequestParams filtering params
+     * @param fieldsParams owner fields to return.
      * @return all suitable owners.
      */
     @GetMapping
-    public ResponseEntity<PageResponse<OwnerResponse>> getAll(
+    public ResponseEntity<PageResponse<?>> getAll(
             @Valid OwnerPaginationAndSorting paginationAndSorting,
-            OwnerRequestParams ownerRequestParams
+            @Valid OwnerRequestParams ownerRequestParams,
+            @Valid OwnerFieldsParams fieldsParams
     ) {
+        if (paginationAndSorting.getMode() == PaginationMode.KEYSET) {
+            Sort sort = paginationAndSorting.buildKeysetSort(SORT_TRANSFORM);
+            Window<Owner> ownerWindow = ownerService.getAll(
+                    paginationAndSorting.buildScrollPosition(sort),
+                    sort,
+                    paginationAndSorting.getSize(),
+                    ownerRequestParams
+            );
+            return ResponseEntity.ok(PageResponse.from(
+                    ownerWindow, paginationAndSorting.getDirection(), paginationAndSorting.getSize(),
+                    owners -> select(ownerMapper.toDto(owners), fieldsParams)
+            ));
+        }
         PageRequest pageRequest = paginationAndSorting.buildPageRequest(SORT_TRANSFORM);
-        Page<Owner> ownerPage = ownerService.getAll(pageRequest, ownerRequestParams);
-        PageResponse<OwnerResponse> response = PageResponse.from(
-                ownerPage, ownerMapper::toDto
+        CountMode countMode = paginationAndSorting.getCount();
+        Slice<OwnerResponse> ownerPage = ownerService.getAllResponses(
+                pageRequest, countMode, ownerRequestParams, fieldsParams.toSet()
+        );
+        PageResponse<?> response = PageResponse.from(
+                ownerPage, countMode, responses -> select(responses, fieldsParams)
         );
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Read many owners by IDs in one request, e.g. {@code ?ids=id1,id2}.
+     * Missing owners don't fail the request, their ids are listed in response.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<OwnerBatchResponse> getAllByIds(@Valid OwnerBatchRequest request) {
+        OwnerLookupResult result = ownerService.getAllByIds(request.ids());
+        return ResponseEntity.ok(new OwnerBatchResponse(
+                result.owners(), result.missingIds()
+        ));
+    }
+
     /**
      * Read a single owner by ID.
+     * If the client already has current version, only the version is read and 304 is returned.
+     * Owner is read through cache, so requested fields narrow only the response.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OwnerResponse> getById(@PathVariable UUID id) {
-        Owner owner = ownerService.getById(id);
-        return ResponseEntity.ok(ownerMapper.toDto(owner));
+    public ResponseEntity<?> getById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Valid OwnerFieldsParams fieldsParams
+    ) {
+        if (ifNoneMatch != null) {
+            ETag current = toETag(ownerService.getVersion(id));
+            boolean notModified = ETag.parse(ifNoneMatch).stream()
+                    .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+            if (notModified) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.formattedTag()).build();
+            }
+        }
+        OwnerSnapshot owner = ownerService.getById(id);
+        OwnerResponse response = owner.owner();
+        return ResponseEntity.ok()
+                .eTag(toETag(owner.version()).formattedTag())
+                .body(fieldsParams.isSparse() ? OwnerField.select(response, fieldsParams.toSet()) : response);
     }
 
     /**
      * Update an existing owner.
+     * With If-Match header owner is updated only if it wasn't modified since the client got the ETag.
      */
     @PutMapping("/{id}")
     public ResponseEntity<OwnerResponse> update(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody OwnerUpdateRequest request
     ) {
-        Owner updated = ownerService.update(id, request);
-        return ResponseEntity.ok(ownerMapper.toDto(updated));
+        OwnerVersion expectedVersion = ifMatch != null ? toExpectedVersion(id, ifMatch) : null;
+        Owner updated = ownerService.update(id, request, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(toETag(OwnerVersion.of(updated)).formattedTag())
+                .body(ownerMapper.toDto(updated));
     }
 
     /**
@@ -90,4 +200,44 @@ public class OwnerController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Keeps only requested fields of responses, responses are returned as is if no fields are requested.
+     */
+    private static List<?> select(List<OwnerResponse> responses, OwnerFieldsParams fieldsParams) {
+        if (!fieldsParams.isSparse()) {
+            return responses;
+        }
+        Set<OwnerField> fields = fieldsParams.toSet();
+        return responses.stream()
+                .map(response -> OwnerField.select(response, fields))
+                .toList();
+    }
+
+    private static ETag toETag(OwnerVersion version) {
+        return new ETag(version.owner() + "." + version.user(), false);
+    }
+
+    /**
+     * Only a single strong ETag issued by this controller or a wildcard is accepted in If-Match,
+     * anything else can't match current version.
+     * @return expected version, or null if any version matches.
+     */
+    private static OwnerVersion toExpectedVersion(UUID id, String ifMatch) {
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() == 1 && tags.getFirst().isWildcard()) {
+            return null;
+        }
+        if (tags.size() == 1 && !tags.getFirst().weak()) {
+            String[] versions = tags.getFirst().tag().split("\\.");
+            try {
+                if (versions.length == 2) {
+                    return new OwnerVersion(Long.parseLong(versions[0]), Long.parseLong(versions[1]));
+                }
+            } catch (NumberFormatException ignored) {
+                // falls through to mismatch
+            }
+        }
+        throw new EntityVersionMismatchException("Owner", "id", id.toString());
+    }
+
 }
@@ -0,0 +1,138 @@
+package pet.odyvanck.petclinic.web.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pet.odyvanck.petclinic.service.OwnerService;
+import pet.odyvanck.petclinic.web.dto.ExportFormat;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/v1/owners/export")
+@RequiredArgsConstructor
+public class OwnerExportController {
+
+    private static final String CSV_HEADER =
+            "id,userId,firstName,lastName,phone,email,address,createdAt,updatedAt";
+
+    /**
+     * Export may take long, other async requests keep the default timeout.
+     */
+    static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(30);
+
+    private final OwnerService ownerService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exports all owners matching filters.
+     * Rows are written while they are read from database, so the export is never held in memory as a whole.
+     * @param format NDJSON or CSV, NDJSON by default.
+     * @param ownerRequestParams filtering params, the same as for owners listing.
+     * @param webRequest current request, its async timeout is extended to {@link #EXPORT_TIMEOUT}.
+     * @return streamed owners in owner id order.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Valid OwnerRequestParams ownerRequestParams,
+            NativeWebRequest webRequest
+    ) {
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest().setTimeout(EXPORT_TIMEOUT.toMillis());
+        StreamingResponseBody body = switch (format) {
+            case NDJSON -> out -> writeNdjson(out, ownerRequestParams);
+            case CSV -> out -> writeCsv(out, ownerRequestParams);
+        };
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("owners." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private void writeNdjson(OutputStream out, OwnerRequestParams filter) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(OwnerResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        ownerService.exportResponses(filter, response -> {
+            try {
+                rowWriter.writeValue(generator, response);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void writeCsv(OutputStream out, OwnerRequestParams filter) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        ownerService.exportResponses(filter, response -> {
+            try {
+                writer.write(toCsvRow(response));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private static String toCsvRow(OwnerResponse response) {
+        return Stream.of(
+                        response.id(),
+                        response.userId(),
+                        response.firstName(),
+                        response.lastName(),
+                        response.phone(),
+                        response.email(),
+                        response.address(),
+                        response.createdAt(),
+                        response.updatedAt()
+                )
+                .map(value -> escapeCsv(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Quotes value if it contains separator, quote or line break, as RFC 4180 says.
+     */
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,120 @@
+package pet.odyvanck.petclinic.web.controller;
+
+import io.r2dbc.spi.R2dbcTimeoutException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.service.OwnerReactiveService;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.ErrorResponse;
+import pet.odyvanck.petclinic.web.dto.PageResponse;
+import pet.odyvanck.petclinic.web.dto.PaginationMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerPaginationAndSorting;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Handlers of reactive read-only owner routes, they take the same params and return the same responses
+ * as {@link OwnerController}. Only offset pagination is supported, all owner fields are returned.
+ */
+@Slf4j
+@Component
+@ConditionalOnBooleanProperty("petclinic.reactive.enabled")
+@RequiredArgsConstructor
+public class OwnerReactiveHandler {
+
+    private final OwnerReactiveService ownerReactiveService;
+    private final Validator validator;
+
+    /**
+     * Gets all owners by request params, see {@link OwnerController#getAll}.
+     */
+    public Mono<ServerResponse> getAll(ServerRequest request) {
+        return request.bind(OwnerPaginationAndSorting.class)
+                .zipWith(request.bind(OwnerRequestParams.class))
+                .flatMap(params -> {
+                    OwnerPaginationAndSorting paginationAndSorting = params.getT1();
+                    OwnerRequestParams ownerRequestParams = params.getT2();
+                    Set<ConstraintViolation<?>> violations = new HashSet<>(validator.validate(paginationAndSorting));
+                    violations.addAll(validator.validate(ownerRequestParams));
+                    if (!violations.isEmpty()) {
+                        return validationErrors(violations);
+                    }
+                    if (paginationAndSorting.getMode() == PaginationMode.KEYSET) {
+                        return error(HttpStatus.BAD_REQUEST, "Keyset pagination is not supported here");
+                    }
+                    CountMode countMode = paginationAndSorting.getCount();
+                    return ownerReactiveService.getAllResponses(
+                                    paginationAndSorting.buildPageRequest(OwnerController.SORT_TRANSFORM),
+                                    countMode,
+                                    ownerRequestParams
+                            )
+                            .flatMap(page -> ServerResponse.ok()
+                                    .bodyValue(PageResponse.from(page, countMode, Function.identity())));
+                });
+    }
+
+    /**
+     * Read a single owner by ID.
+     */
+    public Mono<ServerResponse> getById(ServerRequest request) {
+        return Mono.fromCallable(() -> UUID.fromString(request.pathVariable("id")))
+                .flatMap(ownerReactiveService::getResponseById)
+                .flatMap(owner -> ServerResponse.ok().bodyValue(owner));
+    }
+
+    /**
+     * Writes errors of reactive routes like {@link GlobalExceptionHandler} does for controllers.
+     * Requests which didn't get connection from R2DBC pool in time may be retried later.
+     */
+    public Mono<ServerResponse> handleError(Throwable ex, ServerRequest request) {
+        return switch (ex) {
+            case EntityNotFoundException notFound -> error(HttpStatus.NOT_FOUND, notFound.getMessage());
+            case BindException bind when bind.getFieldError() != null -> {
+                FieldError fieldError = bind.getFieldError();
+                yield error(HttpStatus.BAD_REQUEST, "Invalid value of parameter '%s': %s"
+                        .formatted(fieldError.getField(), fieldError.getRejectedValue()));
+            }
+            case DataAccessResourceFailureException failure when failure.getCause() instanceof R2dbcTimeoutException ->
+                    error(HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, try again later");
+            case IllegalArgumentException illegal when request.pathVariables().containsKey("id") ->
+                    error(HttpStatus.BAD_REQUEST, "Invalid value of parameter 'id': " + request.pathVariable("id"));
+            default -> {
+                log.error("Request failed with unexpected error", ex);
+                yield error(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong");
+            }
+        };
+    }
+
+    private static Mono<ServerResponse> validationErrors(Set<ConstraintViolation<?>> violations) {
+        Map<String, String> errors = violations.stream()
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (first, second) -> first
+                ));
+        return ServerResponse.badRequest()
+                .bodyValue(new ErrorResponse(HttpStatus.BAD_REQUEST, "Validation errors in request data", errors));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(new ErrorResponse(status, message));
+    }
+}
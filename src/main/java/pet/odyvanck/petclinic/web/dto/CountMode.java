@@ -0,0 +1,20 @@
+package pet.odyvanck.petclinic.web.dto;
+
+/**
+ * How total elements of an offset page are counted.
+ */
+public enum CountMode {
+    /**
+     * Runs count query with the same filters, totals are exact.
+     */
+    EXACT,
+    /**
+     * Takes planner row estimate of the filtered select, from table statistics when there are no filters.
+     * Only totals are estimated, whether the page is the last one is read with the page itself.
+     */
+    ESTIMATED,
+    /**
+     * Doesn't count at all, only tells whether the next page exists.
+     */
+    NONE
+}
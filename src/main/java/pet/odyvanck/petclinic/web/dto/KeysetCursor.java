@@ -0,0 +1,126 @@
+package pet.odyvanck.petclinic.web.dto;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import pet.odyvanck.petclinic.web.dto.validation.InvalidCursorException;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for keyset pagination.
+ * Holds the sort direction and the sort keys of the last returned row, so the next page starts right after it.
+ */
+public final class KeysetCursor {
+
+    private static final char UUID_TYPE = 'u';
+    private static final char STRING_TYPE = 's';
+    private static final char DATE_TIME_TYPE = 't';
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Decoded cursor.
+     * @param direction sort direction of the page which gave the cursor.
+     * @param position position to continue from.
+     */
+    public record Decoded(Sort.Direction direction, KeysetScrollPosition position) {
+    }
+
+    /**
+     * Encodes keyset position into url-safe string.
+     * @param position position of the last returned row.
+     * @param direction sort direction of the returned page.
+     * @return opaque cursor.
+     */
+    public static String encode(KeysetScrollPosition position, Sort.Direction direction) {
+        StringJoiner joiner = new StringJoiner("&");
+        joiner.add(direction.name());
+        position.getKeys().forEach((key, value) ->
+                joiner.add(encodePart(key) + "=" + typeOf(key, value) + encodePart(value.toString()))
+        );
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes cursor into sort direction and forward keyset position.
+     * @param cursor cursor returned by previous page.
+     * @return direction and position to continue from.
+     * @throws InvalidCursorException if cursor is malformed.
+     */
+    public static Decoded decode(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("not a valid encoding");
+        }
+
+        String[] entries = decoded.split("&");
+        Sort.Direction direction = Sort.Direction.fromOptionalString(entries[0])
+                .orElseThrow(() -> new InvalidCursorException("unknown sort direction"));
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 1; i < entries.length; i++) {
+            String entry = entries[i];
+            int separator = entry.indexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new InvalidCursorException("malformed key");
+            }
+            String key = decodePart(entry.substring(0, separator));
+            char type = entry.charAt(separator + 1);
+            String value = decodePart(entry.substring(separator + 2));
+            keys.put(key, parse(type, value));
+        }
+        if (keys.isEmpty()) {
+            throw new InvalidCursorException("no keys");
+        }
+        return new Decoded(direction, ScrollPosition.forward(keys));
+    }
+
+    private static char typeOf(String key, Object value) {
+        return switch (value) {
+            case UUID ignored -> UUID_TYPE;
+            case String ignored -> STRING_TYPE;
+            case LocalDateTime ignored -> DATE_TIME_TYPE;
+            case null -> throw new IllegalArgumentException("Keyset value of '" + key + "' must be not null");
+            default -> throw new IllegalArgumentException(
+                    "Unsupported keyset value type " + value.getClass().getName() + " of '" + key + "'");
+        };
+    }
+
+    private static Object parse(char type, String value) {
+        try {
+            return switch (type) {
+                case UUID_TYPE -> UUID.fromString(value);
+                case STRING_TYPE -> value;
+                case DATE_TIME_TYPE -> LocalDateTime.parse(value);
+                default -> throw new InvalidCursorException("unknown value type");
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("malformed value");
+        }
+    }
+
+    private static String encodePart(String part) {
+        return URLEncoder.encode(part, StandardCharsets.UTF_8);
+    }
+
+    private static String decodePart(String part) {
+        try {
+            return URLDecoder.decode(part, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("malformed value");
+        }
+    }
+}
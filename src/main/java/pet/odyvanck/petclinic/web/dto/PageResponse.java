@@ -1,27 +1,61 @@
 package pet.odyvanck.petclinic.web.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 import java.util.function.Function;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PageResponse<T>(
         List<T> elements,
-        int page,
+        Integer page,
         int size,
-        long totalElements,
-        int totalPages,
-        boolean last
+        Long totalElements,
+        Integer totalPages,
+        boolean last,
+        CountMode count,
+        String nextCursor
 ) {
-    public static <T, V> PageResponse<T> from(Page<V> page, Function<List<V>, List<T>> function) {
+    /**
+     * Builds offset page, totals are present only if slice is a counted {@link Page}.
+     */
+    public static <T, V> PageResponse<T> from(Slice<V> slice, CountMode count, Function<List<V>, List<T>> function) {
+        Page<V> page = slice instanceof Page<V> counted ? counted : null;
         return new PageResponse<>(
-                function.apply(page.getContent()),
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isLast()
+                function.apply(slice.getContent()),
+                slice.getNumber(),
+                slice.getSize(),
+                page != null ? page.getTotalElements() : null,
+                page != null ? page.getTotalPages() : null,
+                slice.isLast(),
+                page != null ? count : CountMode.NONE,
+                null
         );
     }
-}
 
+    /**
+     * Builds keyset page, totals are not known there.
+     * Cursor of the next page keeps sort direction of this one.
+     */
+    public static <T, V> PageResponse<T> from(Window<V> window, Sort.Direction direction, int size,
+                                              Function<List<V>, List<T>> function) {
+        String nextCursor = window.hasNext()
+                ? KeysetCursor.encode((KeysetScrollPosition) window.positionAt(window.size() - 1), direction)
+                : null;
+        return new PageResponse<>(
+                function.apply(window.getContent()),
+                null,
+                size,
+                null,
+                null,
+                !window.hasNext(),
+                CountMode.NONE,
+                nextCursor
+        );
+    }
+}
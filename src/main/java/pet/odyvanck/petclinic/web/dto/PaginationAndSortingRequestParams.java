@@ -4,11 +4,17 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import pet.odyvanck.petclinic.web.dto.validation.InvalidCursorException;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Setter
 public class PaginationAndSortingRequestParams {
@@ -24,9 +30,19 @@ public class PaginationAndSortingRequestParams {
 
     private Sort.Direction direction;
 
+    private PaginationMode mode;
+
+    private CountMode count;
+
+    @Getter
+    private String cursor;
+
     private static final int DEFAULT_PAGE = 0;
     private static final int DEFAULT_SIZE = 10;
     private static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.ASC;
+    private static final PaginationMode DEFAULT_MODE = PaginationMode.OFFSET;
+    private static final CountMode DEFAULT_COUNT = CountMode.EXACT;
+    private static final String ID_KEY = "id";
 
 
     public int getPage() {
@@ -41,16 +57,82 @@ public class PaginationAndSortingRequestParams {
         return direction != null ? direction : DEFAULT_SORT_DIRECTION;
     }
 
-    public PageRequest buildPageRequest(Map<String, String> transformations) {
+    /**
+     * Cursor always means keyset pagination, even if mode is omitted.
+     */
+    public PaginationMode getMode() {
+        if (cursor != null) {
+            return PaginationMode.KEYSET;
+        }
+        return mode != null ? mode : DEFAULT_MODE;
+    }
+
+    /**
+     * Keyset pages are never counted.
+     */
+    public CountMode getCount() {
+        if (getMode() == PaginationMode.KEYSET) {
+            return CountMode.NONE;
+        }
+        return count != null ? count : DEFAULT_COUNT;
+    }
+
+    public Sort buildSort(Map<String, String> transformations) {
         if (getSortBy() != null && getSortBy().length > 0) {
-            Sort sort = Sort.by(getDirection(), Arrays.stream(getSortBy())
+            return Sort.by(getDirection(), Arrays.stream(getSortBy())
                     .map(sortField ->
                             transformations.getOrDefault(sortField, sortField))
                     .toArray(String[]::new)
             );
-            return PageRequest.of(getPage(), getSize(), sort);
         }
-        return PageRequest.of(getPage(), getSize());
+        return Sort.unsorted();
+    }
+
+    public PageRequest buildPageRequest(Map<String, String> transformations) {
+        return PageRequest.of(getPage(), getSize(), buildSort(transformations));
+    }
+
+    /**
+     * Builds sorting of keyset pages: requested sorting followed by unique tiebreakers in the same direction,
+     * so rows are ordered exactly like in an index on these columns.
+     */
+    public Sort buildKeysetSort(Map<String, String> transformations) {
+        Sort sort = buildSort(transformations);
+        String[] tiebreakers = keysetTiebreakers(sort).stream()
+                .filter(property -> sort.getOrderFor(property) == null)
+                .toArray(String[]::new);
+        return tiebreakers.length == 0 ? sort : sort.and(Sort.by(getDirection(), tiebreakers));
+    }
+
+    /**
+     * Properties which make keyset sorting unique, the last one must be id.
+     * @param sort requested sorting.
+     */
+    protected List<String> keysetTiebreakers(Sort sort) {
+        return List.of(ID_KEY);
+    }
+
+    /**
+     * Builds position to continue keyset pagination from.
+     * @param sort sorting of requested page, it must be the same as for the page which gave the cursor.
+     * @return initial position if there is no cursor, otherwise position after the cursor row.
+     */
+    public KeysetScrollPosition buildScrollPosition(Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        KeysetCursor.Decoded decoded = KeysetCursor.decode(cursor);
+
+        Set<String> expectedKeys = new HashSet<>();
+        expectedKeys.add(ID_KEY);
+        sort.forEach(order -> expectedKeys.add(order.getProperty()));
+        if (!decoded.position().getKeys().keySet().equals(expectedKeys)) {
+            throw new InvalidCursorException("it was issued for another sorting");
+        }
+        if (decoded.direction() != getDirection()) {
+            throw new InvalidCursorException("it was issued for another sort direction");
+        }
+        return decoded.position();
     }
 
 }
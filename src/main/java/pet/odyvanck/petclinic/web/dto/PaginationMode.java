@@ -0,0 +1,15 @@
+package pet.odyvanck.petclinic.web.dto;
+
+/**
+ * How a list endpoint pages through its results.
+ */
+public enum PaginationMode {
+    /**
+     * Classic page number and size, with total counts.
+     */
+    OFFSET,
+    /**
+     * Continues after the last returned row using an opaque cursor, without counting.
+     */
+    KEYSET
+}
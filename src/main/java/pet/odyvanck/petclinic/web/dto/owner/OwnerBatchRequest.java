@@ -0,0 +1,15 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OwnerBatchRequest(
+
+        @NotEmpty(message = "Owner ids are required")
+        @Size(max = 100, message = "At most 100 owners can be read at once")
+        List<@NotNull UUID> ids
+) {}
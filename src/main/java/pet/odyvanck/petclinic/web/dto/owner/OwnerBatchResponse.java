@@ -0,0 +1,15 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Owners read by ids, both lists keep order of requested ids.
+ * @param owners found owners.
+ * @param missingIds requested ids without owner.
+ */
+public record OwnerBatchResponse(
+        List<OwnerResponse> owners,
+        List<UUID> missingIds
+) {
+}
@@ -0,0 +1,15 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record OwnerBulkCreationRequest(
+
+        @NotEmpty(message = "Owners are required")
+        @Size(max = 1000, message = "At most 1000 owners can be registered at once")
+        List<@Valid @NotNull OwnerCreationRequest> owners
+) {}
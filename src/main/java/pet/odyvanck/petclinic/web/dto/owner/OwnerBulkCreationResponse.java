@@ -0,0 +1,13 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import java.util.List;
+
+/**
+ * Result of bulk registration, items are in the same order as in request.
+ */
+public record OwnerBulkCreationResponse(
+        int created,
+        int rejected,
+        List<OwnerBulkItemResponse> items
+) {
+}
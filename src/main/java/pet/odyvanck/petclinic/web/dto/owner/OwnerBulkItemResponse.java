@@ -0,0 +1,23 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of single owner from bulk registration.
+ * @param index position of owner in request.
+ * @param status whether owner was created.
+ * @param owner created owner, absent for rejected one.
+ * @param error rejection reason, absent for created owner.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OwnerBulkItemResponse(
+        int index,
+        Status status,
+        OwnerResponse owner,
+        String error
+) {
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
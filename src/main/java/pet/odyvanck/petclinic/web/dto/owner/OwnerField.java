@@ -0,0 +1,91 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Fields of {@link OwnerResponse} which can be requested with {@code fields=}.
+ * Constants are declared in order of response components, so they can be passed to its constructor as is.
+ */
+public enum OwnerField {
+    ID("id", "id", UUID.class, OwnerResponse::id),
+    USER_ID("userId", "user.id", UUID.class, OwnerResponse::userId),
+    FIRST_NAME("firstName", "user.firstName", String.class, OwnerResponse::firstName),
+    LAST_NAME("lastName", "user.lastName", String.class, OwnerResponse::lastName),
+    PHONE("phone", "phone", String.class, OwnerResponse::phone),
+    EMAIL("email", "user.email", String.class, OwnerResponse::email),
+    ADDRESS("address", "address", String.class, OwnerResponse::address),
+    CREATED_AT("createdAt", "createdAt", LocalDateTime.class, OwnerResponse::createdAt),
+    UPDATED_AT("updatedAt", "updatedAt", LocalDateTime.class, OwnerResponse::updatedAt);
+
+    private static final String USER_PREFIX = "user.";
+
+    private final String fieldName;
+    private final String property;
+    private final Class<?> type;
+    private final Function<OwnerResponse, Object> getter;
+
+    OwnerField(String fieldName, String property, Class<?> type, Function<OwnerResponse, Object> getter) {
+        this.fieldName = fieldName;
+        this.property = property;
+        this.type = type;
+        this.getter = getter;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    /**
+     * @return true if field is read from user, not from owner itself.
+     */
+    public boolean isUserField() {
+        return property.startsWith(USER_PREFIX);
+    }
+
+    /**
+     * @return property of owner, or of user if it's {@link #isUserField() user field}.
+     */
+    public String property() {
+        return isUserField() ? property.substring(USER_PREFIX.length()) : property;
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    /**
+     * Resolves requested field names, names must be validated before.
+     * @param names field names, null or empty means all fields.
+     */
+    public static Set<OwnerField> of(String[] names) {
+        if (names == null || names.length == 0) {
+            return EnumSet.allOf(OwnerField.class);
+        }
+        Set<OwnerField> fields = EnumSet.noneOf(OwnerField.class);
+        for (String name : names) {
+            Arrays.stream(values())
+                    .filter(field -> field.fieldName.equals(name))
+                    .findFirst()
+                    .ifPresent(fields::add);
+        }
+        return fields;
+    }
+
+    /**
+     * Takes only given fields of response, in order of response components.
+     */
+    public static Map<String, Object> select(OwnerResponse response, Set<OwnerField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (OwnerField field : fields) {
+            selected.put(field.fieldName, field.getter.apply(response));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,31 @@
+package pet.odyvanck.petclinic.web.dto.owner;
+
+import pet.odyvanck.petclinic.web.dto.validation.ValidFields;
+
+import java.util.Set;
+
+/**
+ * Owner fields requested by client, all fields if none are requested.
+ */
+public record OwnerFieldsParams(
+        @ValidFields(allowed = {
+                "id",
+                "userId",
+                "firstName",
+                "lastName",
+                "phone",
+                "email",
+                "address",
+                "createdAt",
+                "updatedAt"
+        })
+        String[] fields
+) {
+    public boolean isSparse() {
+        return fields != null && fields.length > 0;
+    }
+
+    public Set<OwnerField> toSet() {
+        return OwnerField.of(fields);
+    }
+}
@@ -1,9 +1,12 @@
 package pet.odyvanck.petclinic.web.dto.owner;
 
 import lombok.Data;
+import org.springframework.data.domain.Sort;
 import pet.odyvanck.petclinic.web.dto.PaginationAndSortingRequestParams;
 import pet.odyvanck.petclinic.web.dto.validation.ValidSortingFields;
 
+import java.util.List;
+
 @Data
 public class OwnerPaginationAndSorting extends PaginationAndSortingRequestParams {
     @ValidSortingFields(allowed = {
@@ -17,4 +20,14 @@ public class OwnerPaginationAndSorting extends PaginationAndSortingRequestParams
             "updatedAt"
     })
     private String[] sortBy;
+
+    /**
+     * Sorting by user columns is broken by user id, so the users index on (column, id) serves it.
+     * Owner id is still the last key, it's unique as well.
+     */
+    @Override
+    protected List<String> keysetTiebreakers(Sort sort) {
+        boolean byUser = sort.stream().anyMatch(order -> order.getProperty().startsWith("user."));
+        return byUser ? List.of("user.id", "id") : super.keysetTiebreakers(sort);
+    }
 }
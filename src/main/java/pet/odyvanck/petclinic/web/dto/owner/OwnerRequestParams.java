@@ -1,10 +1,22 @@
 package pet.odyvanck.petclinic.web.dto.owner;
 
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
+/**
+ * Owner filters, all given filters must match.
+ * @param q search text, every word of it must be found in name, email, phone or address of owner.
+ *          Each word must be at least 3 characters long, trigram index can't look up shorter ones
+ *          and they would be matched against every owner.
+ */
 public record OwnerRequestParams(
         String email,
         String phone,
-        String firstName
+        String firstName,
+        String lastName,
+        @Size(max = 100, message = "Search text must be at most 100 characters long")
+        @Pattern(regexp = "\\s*\\S{3,}(\\s+\\S{3,})*\\s*",
+                message = "Every word of search text must be at least 3 characters long")
+        String q
 ) {
 }
-
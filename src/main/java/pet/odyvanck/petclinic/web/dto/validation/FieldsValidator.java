@@ -0,0 +1,30 @@
+package pet.odyvanck.petclinic.web.dto.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.util.Set;
+
+/**
+ * Validator for check if requested response fields are allowed.
+ */
+public class FieldsValidator implements ConstraintValidator<ValidFields, String[]> {
+
+    private Set<String> allowedFields;
+
+    @Override
+    public void initialize(ValidFields constraintAnnotation) {
+        allowedFields = Set.of(constraintAnnotation.allowed());
+    }
+
+    @Override
+    public boolean isValid(String[] fields, ConstraintValidatorContext context) {
+        if (fields == null) return true;
+        for (String field : fields) {
+            if (!allowedFields.contains(field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,14 @@
+package pet.odyvanck.petclinic.web.dto.validation;
+
+import pet.odyvanck.petclinic.domain.error.DomainException;
+
+/**
+ * Thrown when a pagination cursor can't be decoded or doesn't match the requested sorting.
+ */
+public class InvalidCursorException extends DomainException {
+
+    public InvalidCursorException(String reason) {
+        super("Invalid pagination cursor: " + reason);
+    }
+
+}
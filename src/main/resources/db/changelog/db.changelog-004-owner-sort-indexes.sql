@@ -0,0 +1,12 @@
+-- =====================================================
+-- Indexes for keyset pagination of owners.
+-- Every sort key is paired with id, the keyset tiebreaker.
+-- users.email is already covered by its unique index.
+-- =====================================================
+CREATE INDEX idx_owners_created_at_id ON owners (created_at, id);
+
+CREATE INDEX idx_owners_updated_at_id ON owners (updated_at, id);
+
+CREATE INDEX idx_users_first_name_id ON users (first_name, id);
+
+CREATE INDEX idx_users_last_name_id ON users (last_name, id);
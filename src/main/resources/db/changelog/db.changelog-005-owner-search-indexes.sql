@@ -0,0 +1,17 @@
+-- =====================================================
+-- Indexes for owner search filters.
+-- Expressions must be the same as in OwnerSpecification,
+-- otherwise the planner falls back to sequential scan.
+-- =====================================================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- lower(first_name) LIKE '%x%' and lower(last_name) LIKE '%x%'
+CREATE INDEX idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+
+CREATE INDEX idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+
+-- lower(email) = ?
+CREATE INDEX idx_users_email_lower ON users (lower(email));
+
+-- phone = ?, id is added to serve keyset pagination sorted by phone as well
+CREATE INDEX idx_owners_phone_id ON owners (phone, id);
@@ -0,0 +1,9 @@
+-- =====================================================
+-- Optimistic lock versions of owners and users.
+-- Owner ETag is built from both versions.
+-- =====================================================
+ALTER TABLE users
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE owners
+ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- =====================================================
+-- Covering indexes for narrow owner listings (fields=).
+-- Id and name columns of owner and user are read from
+-- indexes only, without visiting table rows.
+-- =====================================================
+DROP INDEX idx_users_first_name_id;
+
+CREATE INDEX idx_users_first_name_id ON users (first_name, id) INCLUDE (last_name);
+
+DROP INDEX idx_users_last_name_id;
+
+CREATE INDEX idx_users_last_name_id ON users (last_name, id) INCLUDE (first_name);
+
+-- join from user to owner
+CREATE INDEX idx_owners_user_id_id ON owners (user_id) INCLUDE (id);
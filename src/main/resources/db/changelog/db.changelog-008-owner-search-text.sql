@@ -0,0 +1,64 @@
+-- =====================================================
+-- Search text of owners for q= search: lower case names
+-- and email of user, phone and address of owner.
+-- It's kept up to date by triggers of both tables and
+-- searched by LIKE with trigram index.
+-- =====================================================
+ALTER TABLE owners
+ADD COLUMN search_text TEXT NOT NULL DEFAULT '';
+
+CREATE FUNCTION owner_search_text(first_name TEXT, last_name TEXT, email TEXT, phone TEXT, address TEXT)
+RETURNS TEXT LANGUAGE sql IMMUTABLE AS $$
+    SELECT lower(concat_ws(' ', first_name, last_name, email, phone, address))
+$$;
+
+UPDATE owners o
+SET search_text = owner_search_text(u.first_name, u.last_name, u.email, o.phone, o.address)
+FROM users u
+WHERE u.id = o.user_id;
+
+-- owner fields are changed, or owner is inserted after its user
+CREATE FUNCTION owners_search_text_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_text := coalesce(
+        (SELECT owner_search_text(u.first_name, u.last_name, u.email, NEW.phone, NEW.address)
+         FROM users u WHERE u.id = NEW.user_id),
+        owner_search_text(NULL, NULL, NULL, NEW.phone, NEW.address)
+    );
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER owners_search_text_insert BEFORE INSERT ON owners
+FOR EACH ROW EXECUTE FUNCTION owners_search_text_trigger();
+
+CREATE TRIGGER owners_search_text_update BEFORE UPDATE OF user_id, phone, address ON owners
+FOR EACH ROW
+WHEN (OLD.user_id IS DISTINCT FROM NEW.user_id
+    OR OLD.phone IS DISTINCT FROM NEW.phone
+    OR OLD.address IS DISTINCT FROM NEW.address)
+EXECUTE FUNCTION owners_search_text_trigger();
+
+-- user fields are changed, or user is inserted by the same statement as its owner,
+-- after row triggers run at the end of statement, so they see the owner row
+CREATE FUNCTION users_search_text_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE owners o
+    SET search_text = owner_search_text(NEW.first_name, NEW.last_name, NEW.email, o.phone, o.address)
+    WHERE o.user_id = NEW.id;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER users_search_text_insert AFTER INSERT ON users
+FOR EACH ROW EXECUTE FUNCTION users_search_text_trigger();
+
+CREATE TRIGGER users_search_text_update AFTER UPDATE OF first_name, last_name, email ON users
+FOR EACH ROW
+WHEN (OLD.first_name IS DISTINCT FROM NEW.first_name
+    OR OLD.last_name IS DISTINCT FROM NEW.last_name
+    OR OLD.email IS DISTINCT FROM NEW.email)
+EXECUTE FUNCTION users_search_text_trigger();
+
+-- search_text LIKE '%word%' for every word of q
+CREATE INDEX idx_owners_search_text_trgm ON owners USING gin (search_text gin_trgm_ops);
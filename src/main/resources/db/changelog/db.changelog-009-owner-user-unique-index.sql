@@ -0,0 +1,12 @@
+-- =====================================================
+-- One unique index on owners.user_id instead of two.
+-- Unique constraint of user_id and covering index from
+-- db.changelog-007 indexed the same column twice; the
+-- unique index covers id, so join from user to owner
+-- is still read from index only.
+-- =====================================================
+CREATE UNIQUE INDEX idx_owners_user_id_unique ON owners (user_id) INCLUDE (id);
+
+ALTER TABLE owners DROP CONSTRAINT owners_user_id_key;
+
+DROP INDEX idx_owners_user_id_id;
@@ -0,0 +1,10 @@
+-- =====================================================
+-- Every owner has its user: registration inserts both,
+-- and owner is deleted by cascade of its user. Reads
+-- join users with inner joins, so an owner without user
+-- would be dropped from listings; it can't exist now.
+-- Fails if such owners are left, they must be fixed
+-- by hand before the migration.
+-- =====================================================
+ALTER TABLE owners
+ALTER COLUMN user_id SET NOT NULL;
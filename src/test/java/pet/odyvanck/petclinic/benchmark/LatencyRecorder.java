@@ -0,0 +1,50 @@
+package pet.odyvanck.petclinic.benchmark;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Latencies recorded by one client thread or by requests of one kind, recorders are merged after the run.
+ */
+final class LatencyRecorder {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    synchronized void record(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+    }
+
+    static Latencies merge(Collection<LatencyRecorder> recorders, long elapsedNanos) {
+        long[] all = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.values, 0, recorder.size))
+                .sorted()
+                .toArray();
+        return new Latencies(all, elapsedNanos);
+    }
+
+    /**
+     * Sorted latencies of a run.
+     */
+    record Latencies(long[] sorted, long elapsedNanos) {
+
+        int count() {
+            return sorted.length;
+        }
+
+        double throughput() {
+            return sorted.length / (elapsedNanos / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
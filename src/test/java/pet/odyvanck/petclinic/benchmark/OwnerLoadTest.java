@@ -0,0 +1,256 @@
+package pet.odyvanck.petclinic.benchmark;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import pet.odyvanck.petclinic.benchmark.LatencyRecorder.Latencies;
+import pet.odyvanck.petclinic.it.IntegrationTestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Mixed owner traffic at a fixed arrival rate against the application with production settings,
+ * run fails if latency percentiles or throughput don't meet objectives from load-test.properties.
+ * Run with "gradle loadTest".
+ */
+@Tag("load")
+class OwnerLoadTest {
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Boris", "Clara", "Dmitry", "Elena", "Fedor", "Galina", "Igor", "Julia", "Kirill",
+            "Larisa", "Maxim", "Nadia", "Oleg", "Polina", "Roman", "Sofia", "Timur", "Ulyana", "Viktor"
+    };
+    private static final String[] LAST_NAMES = {
+            "Ivanov", "Smirnov", "Kuznetsov", "Popov", "Vasiliev", "Petrov", "Sokolov", "Mikhailov", "Novikov",
+            "Fedorov", "Morozov", "Volkov", "Alekseev", "Lebedev", "Semenov", "Egorov", "Pavlov", "Kozlov",
+            "Stepanov", "Nikolaev", "Orlov", "Andreev", "Makarov", "Nikitin", "Zakharov"
+    };
+
+    private static final Properties settings = settings();
+    private static final PostgreSQLContainer<?> postgres = IntegrationTestConfig.postgreSQLContainer();
+
+    private enum Operation {
+        CREATE("create"), SEARCH("search"), GET_BY_ID("get-by-id"), UPDATE("update");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        postgres.stop();
+    }
+
+    @Test
+    @DisplayName("Owner endpoints meet latency and throughput objectives under mixed traffic")
+    void mixedTraffic() throws Exception {
+        int owners = intSetting("load.owners");
+        try (PetClinicServer server = PetClinicServer.start(postgres, Map.of())) {
+            List<String> ids = server.seedOwners(owners, OwnerLoadTest::seedOwner,
+                    "seed" + (owners - 1) + "@example.com");
+
+            run(server, ids, owners, Duration.ofSeconds(intSetting("load.warmup")));
+            Run run = run(server, ids, owners, Duration.ofSeconds(intSetting("load.duration")));
+
+            report(run);
+            SoftAssertions slo = new SoftAssertions();
+            for (Operation operation : Operation.values()) {
+                Latencies latencies = run.latencies().get(operation);
+                for (String percentile : List.of("p90", "p99")) {
+                    double objective = doubleSetting("load.slo." + operation.key + "." + percentile);
+                    slo.assertThat(latencies.percentileMillis(Integer.parseInt(percentile.substring(1)) / 100.0))
+                            .as("%s %s, ms", operation.key, percentile)
+                            .isLessThanOrEqualTo(objective);
+                }
+            }
+            slo.assertThat(run.throughput()).as("throughput, req/s")
+                    .isGreaterThanOrEqualTo(doubleSetting("load.slo.throughput"));
+            slo.assertThat(run.errorRate()).as("error rate")
+                    .isLessThanOrEqualTo(doubleSetting("load.slo.error-rate"));
+            slo.assertAll();
+        }
+    }
+
+    /**
+     * Requests are sent on a fixed schedule of "load.rate" per second, each on its own virtual thread,
+     * whether earlier ones have completed or not. Latency is measured from the scheduled send time,
+     * so a stalled server is charged for requests queued behind the stall instead of slowing the clients down.
+     * Throughput counts only responses received before the run ends, a server falling behind the schedule misses it.
+     */
+    private static Run run(PetClinicServer server, List<String> ids, int owners, Duration duration) {
+        long interval = Duration.ofSeconds(1).toNanos() / intSetting("load.rate");
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+        AtomicLong errors = new AtomicLong();
+        AtomicLong answeredInTime = new AtomicLong();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = started; scheduled < deadline; scheduled += interval) {
+                LockSupport.parkNanos(scheduled - System.nanoTime());
+                long sendTime = scheduled;
+                Operation operation = nextOperation();
+                HttpRequest request = request(server, operation, ids, owners);
+                executor.submit(() -> {
+                    try {
+                        int status = server.client()
+                                .send(request, HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                        if (status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        errors.incrementAndGet();
+                    }
+                    long answered = System.nanoTime();
+                    if (answered <= deadline) {
+                        answeredInTime.incrementAndGet();
+                    }
+                    recorders.get(operation).record(answered - sendTime);
+                });
+            }
+        }
+
+        Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) ->
+                latencies.put(operation, LatencyRecorder.merge(List.of(recorder), duration.toNanos())));
+        return new Run(latencies, duration.toNanos(), errors.get(), answeredInTime.get());
+    }
+
+    private static HttpRequest request(PetClinicServer server, Operation operation, List<String> ids, int owners) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case CREATE -> HttpRequest.newBuilder(server.uri("/api/v1/owners"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(owner(
+                            random.nextInt(owners), "load-" + UUID.randomUUID() + "@example.com")))
+                    .build();
+            case SEARCH -> HttpRequest.newBuilder(server.uri("/api/v1/owners?" + searchQuery(random, owners))).build();
+            case GET_BY_ID -> HttpRequest.newBuilder(
+                    server.uri("/api/v1/owners/" + ids.get(random.nextInt(ids.size())))).build();
+            case UPDATE -> HttpRequest.newBuilder(server.uri("/api/v1/owners/" + ids.get(random.nextInt(ids.size()))))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("""
+                            {"firstName":"%s","lastName":"%s","phone":"+7901%07d","address":"%d Updated St"}
+                            """.formatted(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                            LAST_NAMES[random.nextInt(LAST_NAMES.length)], random.nextInt(10_000_000),
+                            random.nextInt(1000))))
+                    .build();
+        };
+    }
+
+    /**
+     * Filters and pages which owners search is used with.
+     */
+    private static String searchQuery(ThreadLocalRandom random, int owners) {
+        int owner = random.nextInt(owners);
+        return switch (random.nextInt(6)) {
+            case 0 -> "lastName=" + LAST_NAMES[owner % LAST_NAMES.length].toLowerCase().substring(0, 4)
+                    + "&size=20&sortBy=lastName&sortBy=firstName&page=" + random.nextInt(5);
+            case 1 -> "firstName=" + FIRST_NAMES[owner % FIRST_NAMES.length] + "&size=20&count=ESTIMATED";
+            case 2 -> "phone=%2B7900" + String.format("%07d", owner);
+            case 3 -> "email=seed" + owner + "@example.com";
+            case 4 -> "q=" + FIRST_NAMES[owner % FIRST_NAMES.length].toLowerCase() + "+"
+                    + LAST_NAMES[owner % LAST_NAMES.length].toLowerCase().substring(0, 4) + "&size=20";
+            default -> "lastName=" + LAST_NAMES[owner % LAST_NAMES.length] + "&mode=KEYSET&size=20&sortBy=createdAt";
+        };
+    }
+
+    private static Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(100);
+        for (Operation operation : Operation.values()) {
+            value -= intSetting("load.mix." + operation.key);
+            if (value < 0) {
+                return operation;
+            }
+        }
+        return Operation.SEARCH;
+    }
+
+    private static String seedOwner(int index) {
+        return owner(index, "seed" + index + "@example.com");
+    }
+
+    private static String owner(int index, String email) {
+        return """
+                {"firstName":"%s","lastName":"%s","password":"StrongPass123",
+                 "phone":"+7900%07d","email":"%s","address":"%d Main St"}
+                """.formatted(FIRST_NAMES[index % FIRST_NAMES.length], LAST_NAMES[index % LAST_NAMES.length],
+                index, email, index);
+    }
+
+    private static void report(Run run) {
+        System.out.printf("%n%-10s %8s %10s %8s %8s %8s%n", "operation", "requests", "req/s", "p50 ms", "p90 ms",
+                "p99 ms");
+        run.latencies().forEach((operation, latencies) -> System.out.printf("%-10s %8d %10.1f %8.2f %8.2f %8.2f%n",
+                operation.key, latencies.count(), latencies.throughput(), latencies.percentileMillis(0.5),
+                latencies.percentileMillis(0.9), latencies.percentileMillis(0.99)));
+        System.out.printf("total %.1f req/s, error rate %.4f%n", run.throughput(), run.errorRate());
+    }
+
+    private static Properties settings() {
+        Properties properties = new Properties();
+        try (InputStream defaults = OwnerLoadTest.class.getResourceAsStream("/load-test.properties")) {
+            properties.load(defaults);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Can't read load-test.properties", ex);
+        }
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith("load.")) {
+                properties.put(key, value);
+            }
+        });
+        return properties;
+    }
+
+    private static int intSetting(String key) {
+        return Integer.parseInt(settings.getProperty(key));
+    }
+
+    private static double doubleSetting(String key) {
+        return Double.parseDouble(settings.getProperty(key));
+    }
+
+    private record Run(Map<Operation, Latencies> latencies, long durationNanos, long errors, long answeredInTime) {
+
+        long requests() {
+            return latencies.values().stream().mapToLong(Latencies::count).sum();
+        }
+
+        double throughput() {
+            return answeredInTime / (durationNanos / 1e9);
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 0 : (double) errors / requests();
+        }
+    }
+}
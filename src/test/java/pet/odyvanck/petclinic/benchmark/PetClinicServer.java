@@ -0,0 +1,122 @@
+package pet.odyvanck.petclinic.benchmark;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import pet.odyvanck.petclinic.PetClinicApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Application started on a random port against given database, with HTTP client to call it.
+ */
+final class PetClinicServer implements AutoCloseable {
+
+    private static final int BULK_SIZE = 1000;
+    private static final Pattern ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient client;
+    private final String baseUri;
+
+    private PetClinicServer(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        this.baseUri = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Passwords are hashed with minimal BCrypt strength, so seeding and creation measure the application,
+     * not hashing.
+     */
+    static PetClinicServer start(PostgreSQLContainer<?> postgres, Map<String, Object> properties) {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("server.port", 0);
+        arguments.put("spring.datasource.url", postgres.getJdbcUrl());
+        arguments.put("spring.datasource.username", postgres.getUsername());
+        arguments.put("spring.datasource.password", postgres.getPassword());
+        arguments.put("spring.jpa.show-sql", false);
+        arguments.put("petclinic.password.strength", 4);
+        arguments.putAll(properties);
+        // passed as arguments, default properties can't override application.yml
+        return new PetClinicServer(new SpringApplicationBuilder(PetClinicApplication.class)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new)));
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    URI uri(String path) {
+        return URI.create(baseUri + path);
+    }
+
+    /**
+     * Sends request and checks that it succeeded.
+     * @return response body.
+     */
+    String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(response.body()).isBetween(200, 299);
+        return response.body();
+    }
+
+    /**
+     * Registers owners built by index, unless the last one already exists.
+     * Owners registered by previous runs are rejected by bulk registration, so seeding can be resumed.
+     * @param count number of owners.
+     * @param owner JSON of owner creation request by index, email must be unique per index.
+     * @param lastEmail email of the owner with the last index.
+     * @return ids of all owners in database.
+     */
+    List<String> seedOwners(int count, IntFunction<String> owner, String lastEmail) throws Exception {
+        String found = send(HttpRequest.newBuilder(uri("/api/v1/owners?email=" + lastEmail)).build());
+        if (ids(found).isEmpty()) {
+            for (int from = 0; from < count; from += BULK_SIZE) {
+                String owners = IntStream.range(from, Math.min(from + BULK_SIZE, count))
+                        .mapToObj(owner)
+                        .collect(Collectors.joining(","));
+                send(HttpRequest.newBuilder(uri("/api/v1/owners/bulk"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"owners\":[" + owners + "]}"))
+                        .build());
+            }
+        }
+        List<String> ids = ids(send(HttpRequest.newBuilder(uri("/api/v1/owners/export?format=NDJSON")).build()));
+        assertThat(ids).hasSizeGreaterThanOrEqualTo(count);
+        return ids;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        context.close();
+    }
+
+    private static List<String> ids(String json) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(json);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,125 @@
+package pet.odyvanck.petclinic.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import pet.odyvanck.petclinic.benchmark.LatencyRecorder.Latencies;
+import pet.odyvanck.petclinic.it.IntegrationTestConfig;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Compares throughput and latency of owner endpoints with platform and virtual request threads.
+ * Application is started for each mode against the same database, owner cache is disabled,
+ * so every request reaches the database.
+ * Run with "gradle benchmark", duration and client counts are set by
+ * "benchmark.duration" (seconds) and "benchmark.clients" system properties.
+ */
+@Tag("benchmark")
+class ThreadingModeBenchmark {
+
+    private static final int OWNERS = 1000;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration", 10));
+    private static final int[] CLIENTS = Arrays.stream(System.getProperty("benchmark.clients", "50,500").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+
+    private static final PostgreSQLContainer<?> postgres = IntegrationTestConfig.postgreSQLContainer();
+    private static final List<String> results = new ArrayList<>();
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void printResults() {
+        postgres.stop();
+        System.out.printf("%n%-9s %-22s %8s %10s %8s %8s %8s%n",
+                "threads", "endpoint", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+        results.forEach(System.out::println);
+    }
+
+    @ParameterizedTest(name = "virtual threads: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Owner endpoints under concurrent clients")
+    void ownerEndpoints(boolean virtualThreads) throws Exception {
+        try (PetClinicServer server = PetClinicServer.start(postgres, Map.of(
+                "spring.cache.type", "none",
+                "spring.threads.virtual.enabled", virtualThreads
+        ))) {
+            List<String> ids = server.seedOwners(OWNERS, i -> """
+                    {"firstName":"first%1$d","lastName":"last%1$d","password":"StrongPass123",
+                     "phone":"+1555%1$06d","email":"bench%1$d@example.com","address":"street %1$d"}
+                    """.formatted(i), "bench" + (OWNERS - 1) + "@example.com");
+            String mode = virtualThreads ? "virtual" : "platform";
+
+            Map<String, IntFunction<URI>> endpoints = Map.of(
+                    "GET /owners/{id}", i -> server.uri("/api/v1/owners/" + ids.get(i % ids.size())),
+                    "GET /owners?size=20", i -> server.uri("/api/v1/owners?size=20&count=NONE&page=" + i % 50)
+            );
+            for (var endpoint : endpoints.entrySet()) {
+                for (int clients : CLIENTS) {
+                    run(server, endpoint.getValue(), clients, WARMUP);
+                    AtomicLong errors = new AtomicLong();
+                    Latencies result = run(server, endpoint.getValue(), clients, DURATION, errors);
+                    results.add(String.format("%-9s %-22s %8d %10.0f %8.2f %8.2f %8d",
+                            mode, endpoint.getKey(), clients, result.throughput(),
+                            result.percentileMillis(0.5), result.percentileMillis(0.99), errors.get()));
+                }
+            }
+        }
+    }
+
+    private static void run(PetClinicServer server, IntFunction<URI> uri, int clients, Duration duration) {
+        run(server, uri, clients, duration, new AtomicLong());
+    }
+
+    private static Latencies run(PetClinicServer server, IntFunction<URI> uri, int clients, Duration duration,
+                                 AtomicLong errors) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<LatencyRecorder> recorders = IntStream.range(0, clients).mapToObj(i -> new LatencyRecorder()).toList();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (LatencyRecorder recorder : recorders) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                uri.apply(ThreadLocalRandom.current().nextInt(OWNERS))).build();
+                        long start = System.nanoTime();
+                        try {
+                            int status = server.client()
+                                    .send(request, HttpResponse.BodyHandlers.discarding())
+                                    .statusCode();
+                            if (status != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.record(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        return LatencyRecorder.merge(recorders, System.nanoTime() - started);
+    }
+}
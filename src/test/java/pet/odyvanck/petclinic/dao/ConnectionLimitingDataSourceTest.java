@@ -0,0 +1,90 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        given(target.getConnection()).willReturn(connection);
+    }
+
+    @Test
+    @DisplayName("Closing connection closes pooled connection and frees permit once")
+    void closeReleasesPermit() throws SQLException {
+        var dataSource = new ConnectionLimitingDataSource(target, 1, 0, Duration.ZERO);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        verify(connection, times(2)).close();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    @DisplayName("Waiting caller gets connection when another caller closes its one")
+    void waitingCallerGetsReleasedPermit() throws Exception {
+        var dataSource = new ConnectionLimitingDataSource(target, 1, 1, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        await().until(() -> dataSource.getWaiting() == 1);
+        first.close();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Caller is refused at once when too many callers are waiting")
+    void refuseAboveMaxWaiting() throws SQLException {
+        var dataSource = new ConnectionLimitingDataSource(target, 1, 0, Duration.ofMinutes(1));
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Too many requests");
+        assertThat(dataSource.getWaiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Permit is freed when pool fails to give connection")
+    void poolFailureReleasesPermit() throws SQLException {
+        var dataSource = new ConnectionLimitingDataSource(target, 1, 0, Duration.ZERO);
+        given(target.getConnection()).willThrow(new SQLException("pool is closed")).willReturn(connection);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool is closed");
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
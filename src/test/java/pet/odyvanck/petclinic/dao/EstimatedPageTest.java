@@ -0,0 +1,51 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EstimatedPageTest {
+
+    @Test
+    @DisplayName("Estimate below the next page doesn't make the page last")
+    void estimateBelowNextPage() {
+        var slice = new SliceImpl<>(List.of(1, 2), PageRequest.of(1, 2), true);
+
+        Page<Integer> page = EstimatedPage.of(slice, 1);
+
+        assertThat(page.isLast()).isFalse();
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Estimate above the last page doesn't add next page")
+    void estimateAboveLastPage() {
+        var slice = new SliceImpl<>(List.<Integer>of(), PageRequest.of(3, 2), false);
+
+        Page<Integer> page = EstimatedPage.of(slice, 100);
+
+        assertThat(EstimatedPage.isTotalKnown(slice)).isFalse();
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Total of the last page is exact, estimate is ignored")
+    void lastPageTotalIsExact() {
+        var slice = new SliceImpl<>(List.of(1), PageRequest.of(2, 2), false);
+
+        Page<Integer> page = EstimatedPage.of(slice, 100);
+
+        assertThat(EstimatedPage.isTotalKnown(slice)).isTrue();
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,29 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OwnerCountEstimateTest {
+
+    @Test
+    @DisplayName("Rows are read from the top plan node, not from nested ones")
+    void planRowsOfTopNode() {
+        String plan = """
+                [{"Plan": {"Node Type": "Hash Join", "Plan Rows": 1234.0,
+                  "Plans": [{"Node Type": "Seq Scan", "Plan Rows": 5}]}}]""";
+
+        assertThat(OwnerCountEstimate.planRows(plan)).isEqualTo(1234);
+    }
+
+    @Test
+    @DisplayName("Plan without row estimate is rejected")
+    void planWithoutRows() {
+        assertThatThrownBy(() -> OwnerCountEstimate.planRows("[{\"Plan\": {}}]"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> OwnerCountEstimate.planRows("Seq Scan on owners"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,146 @@
+package pet.odyvanck.petclinic.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pet.odyvanck.petclinic.dao.StatementTracker.StatementUsage;
+import pet.odyvanck.petclinic.jfr.SqlStatementEvent;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class StatementTrackingDataSourceTest {
+
+    private final StatementTracker tracker = new StatementTracker();
+    private Connection connection;
+    private PreparedStatement preparedStatement;
+    private Statement statement;
+    private StatementTrackingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        preparedStatement = mock(PreparedStatement.class);
+        statement = mock(Statement.class);
+        given(target.getConnection()).willReturn(connection);
+        given(connection.prepareStatement(anyString())).willReturn(preparedStatement);
+        given(connection.createStatement()).willReturn(statement);
+        dataSource = new StatementTrackingDataSource(target, tracker);
+    }
+
+    @Test
+    @DisplayName("Executions of prepared and plain statements are counted and most repeated one is reported")
+    void countsExecutions() throws SQLException {
+        tracker.start();
+
+        try (Connection tracked = dataSource.getConnection()) {
+            PreparedStatement select = tracked.prepareStatement("select 1");
+            select.executeQuery();
+            select.executeQuery();
+            tracked.createStatement().execute("delete from owners");
+        }
+        StatementUsage usage = tracker.stop();
+
+        assertThat(usage.statements()).isEqualTo(3);
+        assertThat(usage.mostRepeatedSql()).isEqualTo("select 1");
+        assertThat(usage.mostRepeatedCount()).isEqualTo(2);
+        assertThat(usage.jdbcTime()).isPositive();
+        verify(statement).execute("delete from owners");
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Batches are counted once and are not repetitions")
+    void countsBatchOnce() throws SQLException {
+        tracker.start();
+
+        PreparedStatement insert = dataSource.getConnection().prepareStatement("insert into owners values (?)");
+        insert.addBatch();
+        insert.addBatch();
+        insert.executeBatch();
+        insert.executeBatch();
+        StatementUsage usage = tracker.stop();
+
+        assertThat(usage.statements()).isEqualTo(2);
+        assertThat(usage.mostRepeatedCount()).isZero();
+        assertThat(usage.mostRepeatedSql()).isNull();
+    }
+
+    @Test
+    @DisplayName("Failed execution is counted and its exception is rethrown")
+    void countsFailedExecution() throws SQLException {
+        SQLException failure = new SQLException("syntax error");
+        given(preparedStatement.executeUpdate()).willThrow(failure);
+        tracker.start();
+
+        PreparedStatement update = dataSource.getConnection().prepareStatement("update owners");
+
+        assertThatThrownBy(update::executeUpdate).isSameAs(failure);
+        assertThat(tracker.stop().statements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Executions are recorded as flight recorder events with changed rows")
+    void recordsEvents(@TempDir Path directory) throws Exception {
+        given(preparedStatement.executeUpdate()).willReturn(3);
+        given(preparedStatement.executeBatch()).willReturn(new int[]{1, 1});
+        Path file = directory.resolve("statements.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(SqlStatementEvent.class);
+            recording.start();
+            PreparedStatement update = dataSource.getConnection().prepareStatement("update owners");
+            update.executeUpdate();
+            update.executeBatch();
+            update.executeQuery();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertThat(RecordingFile.readAllEvents(file))
+                .filteredOn(event -> event.getEventType().getName().equals("pet.odyvanck.petclinic.SqlStatement"))
+                .extracting(event -> event.getString("sql"), event -> event.getBoolean("batch"),
+                        event -> event.getLong("rows"))
+                .containsExactly(
+                        tuple("update owners", false, 3L),
+                        tuple("update owners", true, 2L),
+                        tuple("update owners", false, -1L)
+                );
+    }
+
+    @Test
+    @DisplayName("Statements of other threads and without started tracking are not counted")
+    void ignoresUntrackedThreads() throws SQLException {
+        PreparedStatement select = dataSource.getConnection().prepareStatement("select 1");
+        select.executeQuery();
+        tracker.start();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                select.executeQuery();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).join();
+
+        assertThat(tracker.stop().statements()).isZero();
+        assertThat(tracker.stop().statements()).isZero();
+    }
+}
@@ -39,6 +39,7 @@ public final class OwnerTestFactory {
                 .address("address 123 Main St")
                 .createdAt(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC))
                 .updatedAt(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plusDays(2))
+                .version(0L)
                 .build();
     }
 
@@ -24,6 +24,7 @@ public class UserTestFactory {
                 .firstName("firstName" + id)
                 .lastName("lastName" + id)
                 .passwordHash("StrongPassHash")
+                .version(0L)
                 .build();
     }
 
@@ -0,0 +1,42 @@
+package pet.odyvanck.petclinic.domain.error;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainExceptionTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(DomainException.class);
+
+    @AfterEach
+    void resetLevel() {
+        logger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("Stack trace is not filled by default")
+    void stackless() {
+        logger.setLevel(Level.INFO);
+
+        EntityNotFoundException ex = new EntityNotFoundException("Owner", "id", "42");
+
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex).hasMessage("Owner with id '42' not found");
+    }
+
+    @Test
+    @DisplayName("Stack trace is filled when debug is enabled")
+    void stackTraceOnDebug() {
+        logger.setLevel(Level.DEBUG);
+
+        EntityAlreadyExistsException ex = new EntityAlreadyExistsException("User", "email", "a@b.c");
+
+        assertThat(ex.getStackTrace()).isNotEmpty();
+        assertThat(ex).hasMessage("User with email 'a@b.c' already exists");
+    }
+}
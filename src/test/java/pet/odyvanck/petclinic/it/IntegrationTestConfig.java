@@ -1,18 +1,35 @@
 package pet.odyvanck.petclinic.it;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 import pet.odyvanck.petclinic.dao.OwnerRepository;
+import pet.odyvanck.petclinic.dao.ReactiveDatabaseConfiguration;
+import pet.odyvanck.petclinic.dao.StatementTrackingConfiguration;
 import pet.odyvanck.petclinic.dao.UserRepository;
+import pet.odyvanck.petclinic.service.CacheConfiguration;
+import pet.odyvanck.petclinic.service.OwnerCacheProperties;
 import pet.odyvanck.petclinic.service.OwnerServiceImpl;
+import pet.odyvanck.petclinic.service.PasswordHasher;
 import pet.odyvanck.petclinic.service.UserService;
 import pet.odyvanck.petclinic.service.UserServiceImpl;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+
 @TestConfiguration
+@Import(StatementTrackingConfiguration.class)
 public class IntegrationTestConfig {
     @Bean
     PasswordEncoder passwordEncoder() {
@@ -20,13 +37,51 @@ public class IntegrationTestConfig {
     }
 
     @Bean
-    UserServiceImpl userService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
-        return new UserServiceImpl(userRepository, passwordEncoder);
+    PasswordHasher passwordHasher(PasswordEncoder passwordEncoder) {
+        return new PasswordHasher(passwordEncoder, Executors.newFixedThreadPool(2));
+    }
+
+    @Bean
+    Clock clock() {
+        return Clock.systemUTC();
     }
 
     @Bean
-    OwnerServiceImpl ownerService(UserService userService, OwnerRepository ownerRepository) {
-        return new OwnerServiceImpl(userService, ownerRepository);
+    UserServiceImpl userService(
+            UserRepository userRepository,
+            PasswordHasher passwordHasher,
+            PlatformTransactionManager transactionManager
+    ) {
+        return new UserServiceImpl(userRepository, passwordHasher, new TransactionTemplate(transactionManager));
+    }
+
+    @Bean
+    OwnerServiceImpl ownerService(
+            UserService userService,
+            OwnerRepository ownerRepository,
+            PlatformTransactionManager transactionManager,
+            Clock clock
+    ) {
+        return new OwnerServiceImpl(
+                userService,
+                ownerRepository,
+                new TransactionTemplate(transactionManager),
+                ownerCacheManager(),
+                new SimpleMeterRegistry(),
+                clock
+        );
+    }
+
+    /**
+     * Owners cache built like in the application, so expiry of found and missing owners is the real one.
+     */
+    private static CacheManager ownerCacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(new CacheConfiguration().caffeine(
+                new OwnerCacheProperties(10_000, Duration.ofMinutes(10), Duration.ofSeconds(30))
+        ));
+        cacheManager.setCacheNames(List.of(CacheConfiguration.OWNERS_CACHE));
+        return cacheManager;
     }
 
     public static PostgreSQLContainer<?> postgreSQLContainer() {
@@ -38,4 +93,11 @@ public class IntegrationTestConfig {
         postgres.start();
         return postgres;
     }
+
+    /**
+     * R2DBC URL of the same database, without JDBC driver parameters.
+     */
+    public static String r2dbcUrl(PostgreSQLContainer<?> postgres) {
+        return ReactiveDatabaseConfiguration.r2dbcUrl(postgres.getJdbcUrl());
+    }
 }
@@ -0,0 +1,224 @@
+package pet.odyvanck.petclinic.it;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pet.odyvanck.petclinic.dao.OwnerReactiveRepository;
+import pet.odyvanck.petclinic.dao.OwnerRepository;
+import pet.odyvanck.petclinic.dao.UserRepository;
+import pet.odyvanck.petclinic.data.OwnerTestFactory;
+import pet.odyvanck.petclinic.data.UserTestFactory;
+import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.service.OwnerReactiveServiceImpl;
+import pet.odyvanck.petclinic.service.OwnerService;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reactive reads see owners committed by JPA, so tests don't run in transaction and clean up after themselves.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import(IntegrationTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OwnerReactiveRepositoryIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = IntegrationTestConfig.postgreSQLContainer();
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private OwnerService ownerService;
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private DatabaseClient databaseClient;
+    private OwnerReactiveRepository ownerReactiveRepository;
+    private List<Owner> preloadedOwners;
+    private final int count = 3;
+
+    @BeforeEach
+    void setup() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                ConnectionFactoryOptions.parse(IntegrationTestConfig.r2dbcUrl(postgres)).mutate()
+                        .option(ConnectionFactoryOptions.USER, postgres.getUsername())
+                        .option(ConnectionFactoryOptions.PASSWORD, postgres.getPassword())
+                        .build()
+        );
+        databaseClient = DatabaseClient.create(connectionFactory);
+        ownerReactiveRepository = new OwnerReactiveRepository(databaseClient);
+
+        List<Owner> owners = OwnerTestFactory.createOwnerListWithoutIdAndUser(count);
+        List<User> users = UserTestFactory.createUserListWithoutId(count);
+        preloadedOwners = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            preloadedOwners.add(ownerService.register(owners.get(i), users.get(i), "password" + i));
+        }
+        ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(),
+                User.builder().firstName("Maria").lastName("Ivanova").email("maria@example.com").build(), "password");
+        ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(),
+                User.builder().firstName("Ivan").lastName("Petrov").email("petrov@example.com").build(), "password");
+    }
+
+    @AfterEach
+    void clean() {
+        ownerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stop() {
+        postgres.stop();
+    }
+
+    static Stream<OwnerRequestParams> filters() {
+        return Stream.of(
+                new OwnerRequestParams(null, null, null, null, null),
+                new OwnerRequestParams("EMAIL2@example.com", null, null, null, null),
+                new OwnerRequestParams(null, "+1000000001", null, null, null),
+                new OwnerRequestParams(null, null, "NAME1", null, null),
+                new OwnerRequestParams(null, null, null, "last", null),
+                new OwnerRequestParams(null, null, "%", null, null),
+                new OwnerRequestParams(null, null, null, null, "ivan"),
+                new OwnerRequestParams(null, null, null, null, "firstname2 street")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("filters")
+    @DisplayName("Reactive reads find the same owners as JPA ones")
+    void findResponsesLikeJpa(OwnerRequestParams filter) {
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("user.email"));
+        List<OwnerResponse> expected = ownerService.getAllResponses(
+                pageRequest, CountMode.EXACT, filter, EnumSet.allOf(OwnerField.class)
+        ).getContent();
+
+        StepVerifier.create(ownerReactiveRepository.findResponses(OwnerFilter.of(filter), pageRequest.getSort(), 0, 10).collectList())
+                .assertNext(responses -> assertThat(responses).isEqualTo(expected))
+                .verifyComplete();
+        StepVerifier.create(ownerReactiveRepository.count(OwnerFilter.of(filter)))
+                .expectNext((long) expected.size())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Owners found by search text are ranked like JPA ones when no sorting is requested")
+    void findResponsesRanked() {
+        OwnerRequestParams filter = new OwnerRequestParams(null, null, null, null, "ivan");
+        List<UUID> expected = ownerService.getAllResponses(
+                PageRequest.of(0, 10), CountMode.EXACT, filter, EnumSet.allOf(OwnerField.class)
+        ).map(OwnerResponse::id).getContent();
+
+        StepVerifier.create(ownerReactiveRepository.findResponses(OwnerFilter.of(filter), Sort.unsorted(), 0, 10)
+                        .map(OwnerResponse::id)
+                        .collectList())
+                .assertNext(ids -> assertThat(ids).hasSize(2).isEqualTo(expected))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Reactive reads are paged with offset and limit")
+    void findResponsesPaged() {
+        // database orders uuids like their strings, unlike UUID.compareTo
+        List<String> ids = preloadedOwners.stream().map(owner -> owner.getId().toString()).sorted().toList();
+
+        StepVerifier.create(ownerReactiveRepository.findResponses(
+                                OwnerFilter.of(new OwnerRequestParams(null, null, "firstName", null, null)),
+                                Sort.by("id"), 1, 1)
+                        .map(owner -> owner.id().toString()))
+                .expectNext(ids.get(1))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Reactive read by id returns owner with user fields, nothing for unknown id")
+    void findResponseById() {
+        Owner owner = preloadedOwners.getFirst();
+
+        StepVerifier.create(ownerReactiveRepository.findResponseById(owner.getId()))
+                .assertNext(response -> {
+                    assertThat(response.userId()).isEqualTo(owner.getUser().getId());
+                    assertThat(response.email()).isEqualTo(owner.getUser().getEmail());
+                    assertThat(response.phone()).isEqualTo(owner.getPhone());
+                    assertThat(response.createdAt()).isNotNull();
+                })
+                .verifyComplete();
+        StepVerifier.create(ownerReactiveRepository.findResponseById(UUID.randomUUID()))
+                .verifyComplete();
+    }
+
+    @ParameterizedTest
+    @MethodSource("estimatedFilters")
+    @DisplayName("Estimated pages have the same planner estimate and last page as of JPA reads")
+    void estimatedCountLikeJpa(OwnerRequestParams filter) {
+        StepVerifier.create(databaseClient.sql("ANALYZE").then()).verifyComplete();
+        // page of one owner is full, so JPA reads take estimate as well
+        var page = (Page<OwnerResponse>) ownerService.getAllResponses(
+                PageRequest.of(0, 1), CountMode.ESTIMATED, filter, EnumSet.allOf(OwnerField.class)
+        );
+
+        StepVerifier.create(new OwnerReactiveServiceImpl(ownerReactiveRepository)
+                        .getAllResponses(PageRequest.of(0, 1), CountMode.ESTIMATED, filter))
+                .assertNext(reactivePage -> {
+                    assertThat(reactivePage).isInstanceOf(Page.class);
+                    assertThat(((Page<?>) reactivePage).getTotalElements()).isEqualTo(page.getTotalElements());
+                    assertThat(reactivePage.isLast()).isEqualTo(page.isLast());
+                })
+                .verifyComplete();
+    }
+
+    static Stream<OwnerRequestParams> estimatedFilters() {
+        return Stream.of(
+                new OwnerRequestParams(null, null, null, null, null),
+                new OwnerRequestParams(null, null, null, "last", null),
+                new OwnerRequestParams(null, null, null, null, "ivan")
+        );
+    }
+}
@@ -1,5 +1,10 @@
 package pet.odyvanck.petclinic.it;
 
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import org.assertj.core.groups.Tuple;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -7,8 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -16,23 +27,39 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import pet.odyvanck.petclinic.dao.OwnerRepository;
+import pet.odyvanck.petclinic.dao.StatementTracker;
+import pet.odyvanck.petclinic.dao.StatementTracker.StatementUsage;
 import pet.odyvanck.petclinic.data.OwnerTestFactory;
 import pet.odyvanck.petclinic.data.UserTestFactory;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 import pet.odyvanck.petclinic.domain.User;
 import pet.odyvanck.petclinic.domain.UserStatus;
 import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
+import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.domain.error.EntityVersionMismatchException;
+import pet.odyvanck.petclinic.service.OwnerLookupResult;
+import pet.odyvanck.petclinic.service.OwnerRegistration;
+import pet.odyvanck.petclinic.service.OwnerRegistrationResult;
 import pet.odyvanck.petclinic.service.OwnerService;
+import pet.odyvanck.petclinic.service.OwnerSnapshot;
 import pet.odyvanck.petclinic.service.UserService;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerUpdateRequest;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
 
 
@@ -51,6 +78,7 @@ class OwnerServiceImplIT {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.jpa.show-sql", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
     }
 
     @Autowired
@@ -62,6 +90,15 @@ class OwnerServiceImplIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementTracker statementTracker;
+
     private List<Owner> preloadedOwners;
     private final int count = 3;
 
@@ -98,6 +135,66 @@ class OwnerServiceImplIT {
         assertThat(savedOwner.getUser().getEmail()).isEqualTo(user.getEmail());
     }
 
+    @Test
+    @DisplayName("Registration executes one statement")
+    void registerExecutesOneStatement() {
+        statementTracker.start();
+
+        ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(), UserTestFactory.createUserWithoutId(),
+                "password123");
+
+        StatementUsage usage = statementTracker.stop();
+        assertThat(usage.statements()).isEqualTo(1);
+        assertThat(usage.mostRepeatedSql()).startsWith("WITH");
+    }
+
+    @Test
+    @DisplayName("Bulk registration checks emails with one query and inserts users with owners in one batch")
+    void registerAllInBatches() {
+        List<User> users = UserTestFactory.createUserListWithoutId(count + 5).subList(count, count + 5);
+        List<OwnerRegistration> registrations = new ArrayList<>();
+        for (User user : users) {
+            registrations.add(new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), user, "password"));
+        }
+        registrations.add(new OwnerRegistration(
+                OwnerTestFactory.createOwnerWithoutIdAndUser(), preloadedOwners.getFirst().getUser().toBuilder()
+                        .id(null)
+                        .build(),
+                "password"
+        ));
+        statementTracker.start();
+
+        List<OwnerRegistrationResult> results = ownerService.registerAll(registrations);
+
+        StatementUsage usage = statementTracker.stop();
+        assertThat(results).extracting(OwnerRegistrationResult::isRegistered)
+                .containsExactly(true, true, true, true, true, false);
+        assertThat(usage.statements()).isEqualTo(2);
+        assertThat(ownerRepository.count()).isEqualTo(count + 5);
+        assertThat(ownerRepository.findById(results.getFirst().owner().getId())).get()
+                .extracting(owner -> owner.getUser().getEmail())
+                .isEqualTo(users.getFirst().getEmail());
+    }
+
+    @Test
+    @DisplayName("Bulk registration rejects email taken after the check instead of failing the whole list")
+    void registerAllRejectsEmailTakenByInsert() {
+        List<User> users = UserTestFactory.createUserListWithoutId(count + 2).subList(count, count + 2);
+        List<Owner> owners = new ArrayList<>();
+        for (User user : users) {
+            User hashed = userService.prepareRegistration(user.toBuilder().build(), "password");
+            owners.add(OwnerTestFactory.createOwnerWithoutIdAndUser().toBuilder().user(hashed).build());
+        }
+        User taken = userService.prepareRegistration(
+                preloadedOwners.getFirst().getUser().toBuilder().id(null).build(), "password");
+        owners.add(1, OwnerTestFactory.createOwnerWithoutIdAndUser().toBuilder().user(taken).build());
+
+        boolean[] inserted = ownerRepository.insertAllWithUsers(owners);
+
+        assertThat(inserted).containsExactly(true, false, true);
+        assertThat(ownerRepository.count()).isEqualTo(count + 2);
+    }
+
     @Test
     @DisplayName("Registration with already existing email")
     void registerDuplicatesEmail() {
@@ -112,17 +209,37 @@ class OwnerServiceImplIT {
         assertThatThrownBy(() -> ownerService.register(duplicate, duplicateUser, "anotherPass"))
                 .isInstanceOf(EntityAlreadyExistsException.class)
                 .hasMessageContaining("email");
+        assertThat(ownerRepository.count()).isEqualTo(count + 1);
+    }
+
+    @Test
+    @DisplayName("Registration inserts user and owner with one statement")
+    void registerWithOneStatement() {
+        User user = UserTestFactory.createUserWithoutId();
+        Owner owner = OwnerTestFactory.createOwnerWithoutIdAndUser();
+        Statistics statistics = resetStatistics();
+
+        Owner savedOwner = ownerService.register(owner, user, "password123");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Owner fromDb = ownerRepository.findById(savedOwner.getId()).orElseThrow();
+        assertThat(fromDb.getUser().getId()).isEqualTo(savedOwner.getUser().getId());
+        assertThat(fromDb.getUser().getEmail()).isEqualTo(user.getEmail());
+        assertThat(fromDb.getUser().getStatus()).isEqualTo(UserStatus.ACTIVE);
+        assertThat(fromDb.getUser().getPasswordHash()).isNotEqualTo("password123");
+        assertThat(fromDb.getPhone()).isEqualTo(owner.getPhone());
+        assertThat(fromDb.getCreatedAt()).isNotNull();
     }
 
     @Test
     @DisplayName("Getting all owners without filtering")
     void getAllWithoutFilters() {
-        OwnerRequestParams params = new OwnerRequestParams(null, null, null);
-        var page = ownerService.getAll(PageRequest.of(0, 10), params);
+        OwnerRequestParams params = new OwnerRequestParams(null, null, null, null, null);
+        var page = getAllResponses(PageRequest.of(0, 10), params);
 
         assertThat(page.getTotalElements()).isEqualTo(count);
         assertThat(page.getContent())
-                .extracting(owner -> owner.getUser().getFirstName())
+                .extracting(OwnerResponse::firstName)
                 .containsExactlyInAnyOrder(
                         preloadedOwners.stream().map(owner ->
                                 owner.getUser().getFirstName()).toArray(String[]::new)
@@ -134,45 +251,421 @@ class OwnerServiceImplIT {
     void getAllWithEmailFilter() {
         var email = preloadedOwners.getLast().getUser().getEmail();
         var firstName = preloadedOwners.getLast().getUser().getFirstName();
-        OwnerRequestParams params = new OwnerRequestParams(email, null, null);
+        OwnerRequestParams params = new OwnerRequestParams(email, null, null, null, null);
 
-        var page = ownerService.getAll(PageRequest.of(0, 10), params);
+        var page = getAllResponses(PageRequest.of(0, 10), params);
 
         assertThat(page.getTotalElements()).isEqualTo(1);
-        assertThat(page.getContent().getFirst().getUser().getFirstName()).isEqualTo(firstName);
-        assertThat(page.getContent().getFirst().getUser().getEmail()).isEqualTo(email);
+        assertThat(page.getContent().getFirst().firstName()).isEqualTo(firstName);
+        assertThat(page.getContent().getFirst().email()).isEqualTo(email);
     }
 
     @Test
     void getAllWithPhoneFilter() {
         var phone = preloadedOwners.getLast().getPhone();
         var firstName = preloadedOwners.getLast().getUser().getFirstName();
-        OwnerRequestParams params = new OwnerRequestParams(null, phone, null);
+        OwnerRequestParams params = new OwnerRequestParams(null, phone, null, null, null);
 
-        var page = ownerService.getAll(PageRequest.of(0, 10), params);
+        var page = getAllResponses(PageRequest.of(0, 10), params);
 
         assertThat(page.getTotalElements()).isEqualTo(1);
-        assertThat(page.getContent().getFirst().getUser().getFirstName()).isEqualTo(firstName);
-        assertThat(page.getContent().getFirst().getPhone()).isEqualTo(phone);
+        assertThat(page.getContent().getFirst().firstName()).isEqualTo(firstName);
+        assertThat(page.getContent().getFirst().phone()).isEqualTo(phone);
     }
 
     @Test
     void getAllWithFirstNameFilter() {
         var firstName = preloadedOwners.get(1).getUser().getFirstName();
-        OwnerRequestParams params = new OwnerRequestParams(null, null, firstName);
+        OwnerRequestParams params = new OwnerRequestParams(null, null, firstName, null, null);
 
-        var page = ownerService.getAll(PageRequest.of(0, 10), params);
+        var page = getAllResponses(PageRequest.of(0, 10), params);
 
         assertThat(page.getTotalElements()).isEqualTo(1);
-        assertThat(page.getContent().getFirst().getUser().getFirstName()).isEqualTo(firstName);
+        assertThat(page.getContent().getFirst().firstName()).isEqualTo(firstName);
+    }
+
+    @Test
+    void getAllWithLastNameFilter() {
+        var lastName = preloadedOwners.get(2).getUser().getLastName();
+        OwnerRequestParams params = new OwnerRequestParams(null, null, null, lastName.toUpperCase(), null);
+
+        var page = getAllResponses(PageRequest.of(0, 10), params);
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent().getFirst().lastName()).isEqualTo(lastName);
+    }
+
+    @Test
+    @DisplayName("Name filters match part of the name and combine with each other")
+    void getAllWithFirstAndLastNameFilter() {
+        var owner = preloadedOwners.get(1).getUser();
+        OwnerRequestParams params = new OwnerRequestParams(
+                null, null, owner.getFirstName().substring(1), owner.getLastName().substring(1)
+        , null);
+
+        var page = getAllResponses(PageRequest.of(0, 10, Sort.by("user.email")), params);
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent().getFirst().email()).isEqualTo(owner.getEmail());
+    }
+
+    @Test
+    @DisplayName("Wildcards in name filter are matched literally")
+    void getAllWithWildcardInNameFilter() {
+        OwnerRequestParams params = new OwnerRequestParams(null, null, "%", "_", null);
+
+        var page = getAllResponses(PageRequest.of(0, 10), params);
+
+        assertThat(page.getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keyset pagination walks through all owners sorted by user email")
+    void getAllByKeysetSortedByEmail() {
+        OwnerRequestParams params = new OwnerRequestParams(null, null, null, null, null);
+        Sort sort = Sort.by(Sort.Direction.DESC, "user.email");
+        List<String> emails = new ArrayList<>();
+
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<Owner> window;
+        do {
+            window = ownerService.getAll(position, sort, 2, params);
+            window.forEach(owner -> emails.add(owner.getUser().getEmail()));
+            if (window.hasNext()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        assertThat(emails).containsExactly(
+                preloadedOwners.stream()
+                        .map(owner -> owner.getUser().getEmail())
+                        .sorted(Comparator.reverseOrder())
+                        .toArray(String[]::new)
+        );
+    }
+
+    @Test
+    @DisplayName("Keyset pagination by last name walks through all owners, ties are broken by user id")
+    void getAllByKeysetSortedByLastNameDescending() {
+        for (int i = 0; i < 2; i++) {
+            preloadedOwners.add(ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(),
+                    User.builder().firstName("John").lastName("lastName1").email("john" + i + "@example.com").build(),
+                    "password"));
+        }
+        OwnerRequestParams params = new OwnerRequestParams(null, null, null, null, null);
+        Sort sort = Sort.by(Sort.Direction.DESC, "user.lastName", "user.id", "id");
+        List<UUID> ids = new ArrayList<>();
+
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<Owner> window;
+        do {
+            window = ownerService.getAll(position, sort, 2, params);
+            window.forEach(owner -> ids.add(owner.getId()));
+            if (window.hasNext()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        // database orders uuids like their strings, unlike UUID.compareTo
+        assertThat(ids).containsExactlyElementsOf(preloadedOwners.stream()
+                .sorted(Comparator.comparing((Owner owner) -> owner.getUser().getLastName())
+                        .thenComparing(owner -> owner.getUser().getId().toString())
+                        .reversed())
+                .map(Owner::getId)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Owners page is read with users in one statement, short first page isn't counted")
+    void getAllResponsesLoadsUsersInOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        var page = getAllResponses(PageRequest.of(0, 10), new OwnerRequestParams(null, null, null, null, null));
+
+        assertThat(page.getContent())
+                .extracting(OwnerResponse::email)
+                .hasSize(count)
+                .doesNotContainNull();
+        assertThat(page.getTotalElements()).isEqualTo(count);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Filtered owners page is read with one page statement and one count statement")
+    void getAllResponsesFilteredWithPageAndCountStatements() {
+        Statistics statistics = resetStatistics();
+
+        var page = getAllResponses(
+                PageRequest.of(0, 1, Sort.by("user.email")),
+                new OwnerRequestParams(null, null, "firstName", null, null)
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(count);
+        assertThat(page.getContent().getFirst().email()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Keyset window is read with users in one statement")
+    void getAllByKeysetLoadsUsersInOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        var window = ownerService.getAll(
+                ScrollPosition.keyset(), Sort.by("user.email"), 2, new OwnerRequestParams(null, null, null, null, null)
+        );
+
+        assertThat(window.getContent())
+                .extracting(owner -> owner.getUser().getEmail())
+                .hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Owner by id is read with user in one statement")
+    void getByIdLoadsUserInOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        OwnerSnapshot found = ownerService.getById(preloadedOwners.get(1).getId());
+
+        assertThat(found.owner().email()).isEqualTo(preloadedOwners.get(1).getUser().getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Owners by ids are read with users in one statement, in order of ids")
+    void getAllByIdsLoadsUsersInOneStatement() {
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(
+                preloadedOwners.get(2).getId(), missingId, preloadedOwners.get(0).getId(), preloadedOwners.get(2).getId()
+        );
+        Statistics statistics = resetStatistics();
+
+        OwnerLookupResult result = ownerService.getAllByIds(ids);
+
+        assertThat(result.owners())
+                .extracting(OwnerResponse::email)
+                .containsExactly(
+                        preloadedOwners.get(2).getUser().getEmail(), preloadedOwners.get(0).getUser().getEmail()
+                );
+        assertThat(result.missingIds()).containsExactly(missingId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Owner by id and missing id are read from database once, then from cache")
+    void getByIdCached() {
+        UUID id = preloadedOwners.get(2).getId();
+        UUID missingId = UUID.randomUUID();
+        ownerService.getById(id);
+        assertThatThrownBy(() -> ownerService.getById(missingId)).isInstanceOf(EntityNotFoundException.class);
+        Statistics statistics = resetStatistics();
+
+        OwnerSnapshot found = ownerService.getById(id);
+        assertThatThrownBy(() -> ownerService.getById(missingId)).isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(found.owner().id()).isEqualTo(id);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Responses are filtered and sorted like owners, without loading entities")
+    void getAllResponsesWithoutEntities() {
+        Statistics statistics = resetStatistics();
+
+        var page = (Page<OwnerResponse>) ownerService.getAllResponses(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "user.email")),
+                CountMode.EXACT,
+                new OwnerRequestParams(null, null, "firstName", null, null),
+                EnumSet.allOf(OwnerField.class)
+        );
+
+        var expected = preloadedOwners.stream()
+                .sorted(Comparator.comparing((Owner owner) -> owner.getUser().getEmail()).reversed())
+                .limit(2)
+                .toList();
+        assertThat(page.getTotalElements()).isEqualTo(count);
+        assertThat(page.getContent())
+                .extracting(OwnerResponse::id, OwnerResponse::userId, OwnerResponse::email, OwnerResponse::phone)
+                .containsExactly(expected.stream()
+                        .map(owner -> tuple(owner.getId(), owner.getUser().getId(),
+                                owner.getUser().getEmail(), owner.getPhone()))
+                        .toArray(Tuple[]::new));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Only requested response fields are read, the rest are null")
+    void getAllResponsesWithRequestedFields() {
+        var slice = ownerService.getAllResponses(
+                PageRequest.of(0, count, Sort.by("user.lastName")),
+                CountMode.NONE,
+                new OwnerRequestParams(null, null, null, null, null),
+                EnumSet.of(OwnerField.ID, OwnerField.FIRST_NAME, OwnerField.LAST_NAME)
+        );
+
+        var expected = preloadedOwners.stream()
+                .sorted(Comparator.comparing((Owner owner) -> owner.getUser().getLastName()))
+                .toList();
+        assertThat(slice.getContent())
+                .extracting(OwnerResponse::id, OwnerResponse::firstName, OwnerResponse::lastName,
+                        OwnerResponse::userId, OwnerResponse::phone, OwnerResponse::email, OwnerResponse::createdAt)
+                .containsExactly(expected.stream()
+                        .map(owner -> tuple(owner.getId(), owner.getUser().getFirstName(),
+                                owner.getUser().getLastName(), null, null, null, null))
+                        .toArray(Tuple[]::new));
+    }
+
+    @Test
+    @DisplayName("Owner fields are read without user, unless filter needs it")
+    void getAllResponsesWithOwnerFieldsFilteredByUser() {
+        Owner owner = preloadedOwners.get(1);
+
+        var slice = ownerService.getAllResponses(
+                PageRequest.of(0, count),
+                CountMode.NONE,
+                new OwnerRequestParams(owner.getUser().getEmail(), null, null, null, null),
+                EnumSet.of(OwnerField.ID, OwnerField.PHONE)
+        );
+
+        assertThat(slice.getContent())
+                .extracting(OwnerResponse::id, OwnerResponse::phone, OwnerResponse::email)
+                .containsExactly(tuple(owner.getId(), owner.getPhone(), null));
+    }
+
+    @Test
+    @DisplayName("Every word of search text is found in user or owner fields, ignoring case")
+    void getAllResponsesBySearchText() {
+        var page = ownerService.getAllResponses(
+                PageRequest.of(0, count), CountMode.EXACT,
+                new OwnerRequestParams(null, null, null, null, "FirstName2 0002"),
+                EnumSet.allOf(OwnerField.class)
+        );
+
+        assertThat(page.getContent()).extracting(OwnerResponse::id).containsExactly(preloadedOwners.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Owners found by search text are ranked by relevance")
+    void getAllResponsesBySearchTextRanked() {
+        Owner partial = ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(),
+                User.builder().firstName("Maria").lastName("Ivanova").email("maria@example.com").build(), "password");
+        Owner exact = ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(),
+                User.builder().firstName("Ivan").lastName("Petrov").email("petrov@example.com").build(), "password");
+
+        var page = (Page<OwnerResponse>) ownerService.getAllResponses(
+                PageRequest.of(0, count), CountMode.EXACT,
+                new OwnerRequestParams(null, null, null, null, "ivan"),
+                EnumSet.allOf(OwnerField.class)
+        );
+
+        assertThat(page.getContent()).extracting(OwnerResponse::id).containsExactly(exact.getId(), partial.getId());
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Search text follows owner updates and bulk registrations")
+    void getAllResponsesBySearchTextAfterChanges() {
+        UUID id = preloadedOwners.getFirst().getId();
+        ownerService.update(id, OwnerTestFactory.createOwnerUpdateRequest(), null);
+        User bulkUser = User.builder().firstName("Bulk").lastName("Owner").email("bulk@example.com").build();
+        ownerService.registerAll(List.of(
+                new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), bulkUser, "password")
+        ));
+        entityManager.flush();
+
+        assertThat(search("updatedFirstName updated address 9876533")).containsExactly(id);
+        assertThat(search("firstName1")).isEmpty();
+        assertThat(search("bulk@example")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Responses without count are read with one statement and tell if next page exists")
+    void getAllResponsesWithoutCount() {
+        Statistics statistics = resetStatistics();
+
+        var slice = ownerService.getAllResponses(
+                PageRequest.of(0, count - 1, Sort.by("user.email")),
+                CountMode.NONE,
+                new OwnerRequestParams(null, null, null, null, null),
+                EnumSet.allOf(OwnerField.class)
+        );
+
+        assertThat(slice).isNotInstanceOf(Page.class);
+        assertThat(slice.getContent()).hasSize(count - 1);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Estimated total of unfiltered responses is taken from table statistics")
+    void getAllResponsesWithEstimatedCount() {
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("ANALYZE owners").executeUpdate();
+        ownerService.register(
+                OwnerTestFactory.createOwnerWithoutIdAndUser(), UserTestFactory.createUserWithoutId(), "password"
+        );
+        resetStatistics();
+
+        var page = (Page<OwnerResponse>) ownerService.getAllResponses(
+                PageRequest.of(0, 1), CountMode.ESTIMATED, new OwnerRequestParams(null, null, null, null, null),
+                EnumSet.allOf(OwnerField.class)
+        );
+
+        assertThat(page.getTotalElements()).isEqualTo(count);
+    }
+
+    @Test
+    @DisplayName("Estimated total of filtered responses is taken from query plan, without counting")
+    void getAllResponsesWithEstimatedCountFiltered() {
+        for (int i = 0; i < 20; i++) {
+            ownerService.register(OwnerTestFactory.createOwnerWithoutIdAndUser(),
+                    User.builder().firstName("Estimated").lastName("Owner").email("estimated" + i + "@example.com")
+                            .build(),
+                    "password");
+        }
+        entityManager.flush();
+        entityManager.getEntityManager().createNativeQuery("ANALYZE users").executeUpdate();
+        entityManager.getEntityManager().createNativeQuery("ANALYZE owners").executeUpdate();
+        statementTracker.start();
+
+        var page = (Page<OwnerResponse>) ownerService.getAllResponses(
+                PageRequest.of(0, 1), CountMode.ESTIMATED, new OwnerRequestParams(null, null, "estimated", null, null),
+                EnumSet.allOf(OwnerField.class)
+        );
+
+        StatementUsage usage = statementTracker.stop();
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isBetween(1L, count + 20L);
+        assertThat(usage.statements()).isEqualTo(2);
+        assertThat(usage.mostRepeatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Export streams filtered responses in id order without loading entities")
+    void exportResponsesByFilter() {
+        Statistics statistics = resetStatistics();
+
+        List<OwnerResponse> exported = new ArrayList<>();
+        ownerService.exportResponses(new OwnerRequestParams(null, null, null, "lastName", null), exported::add);
+
+        assertThat(exported)
+                .extracting(OwnerResponse::id)
+                .containsExactlyElementsOf(preloadedOwners.stream()
+                        .map(Owner::getId)
+                        .sorted(Comparator.comparing(UUID::toString))
+                        .toList());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
     }
 
     @Test
     @DisplayName("Getting By Id returns existing Owner when ID is valid")
     void getByIdSuccessfully() {
-        Owner found = ownerService.getById(preloadedOwners.get(1).getId());
+        OwnerSnapshot found = ownerService.getById(preloadedOwners.get(1).getId());
         assertThat(found).isNotNull();
-        assertThat(found.getUser().getFirstName()).isEqualTo(preloadedOwners.get(1).getUser().getFirstName());
+        assertThat(found.owner().firstName()).isEqualTo(preloadedOwners.get(1).getUser().getFirstName());
+        assertThat(found.version()).isEqualTo(OwnerVersion.of(preloadedOwners.get(1)));
     }
 
     @Test
@@ -185,12 +678,130 @@ class OwnerServiceImplIT {
     }
 
 
+    @Test
+    @DisplayName("User can't have second owner, unique index replaced unique constraint")
+    void ownerUserUnique() {
+        Owner owner = preloadedOwners.getFirst();
+
+        assertThatThrownBy(() -> entityManager.getEntityManager().createNativeQuery("""
+                        INSERT INTO owners (id, user_id, phone, version)
+                        VALUES (gen_random_uuid(), :userId, '+1000000000', 0)
+                        """)
+                .setParameter("userId", owner.getUser().getId())
+                .executeUpdate())
+                .isInstanceOf(PersistenceException.class)
+                .hasStackTraceContaining("idx_owners_user_id_unique");
+    }
+
+    @Test
+    @DisplayName("Owner can't be stored without user, so inner joins of listings don't drop owners")
+    void ownerUserRequired() {
+        assertThatThrownBy(() -> entityManager.getEntityManager().createNativeQuery("""
+                        INSERT INTO owners (id, user_id, phone, version)
+                        VALUES (gen_random_uuid(), NULL, '+1000000000', 0)
+                        """)
+                .executeUpdate())
+                .isInstanceOf(PersistenceException.class)
+                .hasStackTraceContaining("user_id");
+    }
+
+    @Test
+    @DisplayName("Getting version reads versions only, without loading owner")
+    void getVersionWithoutLoading() {
+        Owner owner = preloadedOwners.getFirst();
+        Statistics statistics = resetStatistics();
+
+        OwnerVersion version = ownerService.getVersion(owner.getId());
+
+        assertThat(version).isEqualTo(new OwnerVersion(0, 0));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Update increments versions of owner and user")
+    void updateIncrementsVersion() {
+        UUID id = preloadedOwners.getFirst().getId();
+
+        ownerService.update(id, OwnerTestFactory.createOwnerUpdateRequest(), new OwnerVersion(0, 0));
+        entityManager.flush();
+
+        assertThat(ownerService.getVersion(id)).isEqualTo(new OwnerVersion(1, 1));
+    }
+
+    @Test
+    @DisplayName("Update without changes keeps versions and update time")
+    void updateWithoutChanges() {
+        entityManager.clear();
+        Owner owner = ownerRepository.findById(preloadedOwners.getFirst().getId()).orElseThrow();
+        OwnerUpdateRequest sameFields = new OwnerUpdateRequest(owner.getUser().getFirstName(),
+                owner.getUser().getLastName(), owner.getPhone(), owner.getAddress());
+        OwnerVersion version = ownerService.getVersion(owner.getId());
+
+        Owner updated = ownerService.update(owner.getId(), sameFields, version);
+        entityManager.flush();
+
+        assertThat(OwnerVersion.of(updated)).isEqualTo(version);
+        assertThat(ownerService.getVersion(owner.getId())).isEqualTo(version);
+        assertThat(updated.getUpdatedAt()).isEqualTo(owner.getUpdatedAt());
+        assertThat(updated.getAddress()).isEqualTo(owner.getAddress());
+    }
+
+    @Test
+    @DisplayName("Update of owner fields only increments owner version")
+    void updateOwnerFieldsOnly() {
+        entityManager.clear();
+        Owner owner = ownerRepository.findById(preloadedOwners.getFirst().getId()).orElseThrow();
+        OwnerUpdateRequest ownerFields = new OwnerUpdateRequest(owner.getUser().getFirstName(),
+                owner.getUser().getLastName(), "+9876533", null);
+
+        Owner updated = ownerService.update(owner.getId(), ownerFields, new OwnerVersion(0, 0));
+        entityManager.flush();
+
+        assertThat(ownerService.getVersion(owner.getId())).isEqualTo(new OwnerVersion(1, 0));
+        assertThat(updated.getAddress()).isNull();
+        assertThat(updated.getPhone()).isEqualTo("+9876533");
+        assertThat(updated.getUser().getUpdatedAt()).isEqualTo(owner.getUser().getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Update with outdated version fails and keeps owner unchanged")
+    void updateOutdatedVersion() {
+        UUID id = preloadedOwners.getFirst().getId();
+        OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
+        ownerService.update(id, updateRequest, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> ownerService.update(id, new OwnerUpdateRequest(
+                "staleFirstName", "staleLastName", null, null), new OwnerVersion(0, 0)))
+                .isInstanceOf(EntityVersionMismatchException.class);
+        assertThat(ownerRepository.findById(id).orElseThrow().getUser().getFirstName())
+                .isEqualTo(updateRequest.firstName());
+    }
+
+    @Test
+    @DisplayName("Update with outdated version executes update and version check statements only")
+    void updateOutdatedVersionStatements() {
+        UUID id = preloadedOwners.getFirst().getId();
+        resetStatistics();
+        statementTracker.start();
+
+        assertThatThrownBy(() -> ownerService.update(id, OwnerTestFactory.createOwnerUpdateRequest(),
+                new OwnerVersion(1, 1)))
+                .isInstanceOf(EntityVersionMismatchException.class);
+
+        StatementUsage usage = statementTracker.stop();
+        assertThat(usage.statements()).isEqualTo(2);
+        assertThat(usage.mostRepeatedCount()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Update modifies Owner fields and persist them")
     void updateSuccessfully() {
         OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
 
-        Owner updated = ownerService.update(preloadedOwners.getFirst().getId(), updateRequest);
+        Owner updated = ownerService.update(preloadedOwners.getFirst().getId(), updateRequest, null);
 
         assertThat(updated.getUser().getFirstName()).isEqualTo(updateRequest.firstName());
         assertThat(updated.getUser().getLastName()).isEqualTo(updateRequest.lastName());
@@ -208,16 +819,80 @@ class OwnerServiceImplIT {
 
 
     @Test
-    @DisplayName("Deletion by id removes Owner when it exists")
+    @DisplayName("Update writes owner and user with one statement and returns them")
+    void updateWithOneStatement() {
+        Owner owner = preloadedOwners.getFirst();
+        OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
+        Statistics statistics = resetStatistics();
+
+        Owner updated = ownerService.update(owner.getId(), updateRequest, new OwnerVersion(0, 0));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(updated.getId()).isEqualTo(owner.getId());
+        assertThat(updated.getPhone()).isEqualTo(updateRequest.phone());
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getUser().getId()).isEqualTo(owner.getUser().getId());
+        assertThat(updated.getUser().getEmail()).isEqualTo(owner.getUser().getEmail());
+        assertThat(updated.getUser().getFirstName()).isEqualTo(updateRequest.firstName());
+        assertThat(updated.getUser().getStatus()).isEqualTo(UserStatus.ACTIVE);
+        assertThat(updated.getUser().getVersion()).isEqualTo(1L);
+        assertThat(updated.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Update of not existing owner throws exception")
+    void updateThrowsWhenNotFound() {
+        var id = UUID.randomUUID();
+        assertThatThrownBy(() -> ownerService.update(id, OwnerTestFactory.createOwnerUpdateRequest(), null))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deletion by id removes Owner and its User with one statement")
     void deleteByIdSuccessfully() {
-        ownerService.deleteById(preloadedOwners.getFirst().getId());
-        assertThat(ownerRepository.existsById(preloadedOwners.getFirst().getId())).isFalse();
+        Owner owner = preloadedOwners.getFirst();
+        Statistics statistics = resetStatistics();
+
+        assertThat(ownerService.deleteById(owner.getId())).isTrue();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(ownerRepository.existsById(owner.getId())).isFalse();
+        assertThat(userService.findRegisteredEmails(Set.of(owner.getUser().getEmail()))).isEmpty();
+        assertThat(ownerRepository.count()).isEqualTo(count - 1);
     }
 
     @Test
     @DisplayName("Deletion by id should not throw when Owner does not exist")
     void deleteByIdNotThrowWhenNotExists() {
-        assertThatCode(() -> ownerService.deleteById(UUID.randomUUID()))
+        assertThatCode(() -> assertThat(ownerService.deleteById(UUID.randomUUID())).isFalse())
                 .doesNotThrowAnyException();
+        assertThat(ownerRepository.count()).isEqualTo(count);
+    }
+
+    private Page<OwnerResponse> getAllResponses(PageRequest pageRequest, OwnerRequestParams params) {
+        return (Page<OwnerResponse>) ownerService.getAllResponses(
+                pageRequest, CountMode.EXACT, params, EnumSet.allOf(OwnerField.class)
+        );
+    }
+
+    private List<UUID> search(String q) {
+        return ownerService.getAllResponses(
+                        PageRequest.of(0, count), CountMode.NONE,
+                        new OwnerRequestParams(null, null, null, null, q),
+                        EnumSet.of(OwnerField.ID)
+                )
+                .map(OwnerResponse::id)
+                .getContent();
+    }
+
+    /**
+     * Detaches preloaded owners, so the next statements really go to database, and resets counters.
+     */
+    private Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
     }
 }
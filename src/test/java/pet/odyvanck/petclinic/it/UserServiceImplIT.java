@@ -1,5 +1,8 @@
 package pet.odyvanck.petclinic.it;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +14,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -38,6 +43,7 @@ class UserServiceImplIT {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.jpa.show-sql", () -> "true");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
     }
 
     @Autowired
@@ -46,6 +52,9 @@ class UserServiceImplIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User user;
 
     @BeforeEach
@@ -76,6 +85,23 @@ class UserServiceImplIT {
                 .isEqualTo(email);
     }
 
+    @Test
+    @DisplayName("Email check and save of registration run in one transaction")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void registerInOneTransaction() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        User saved = userService.register(user, "password");
+
+        try {
+            assertThat(statistics.getTransactionCount()).isEqualTo(1);
+            assertThat(statistics.getSuccessfulTransactionCount()).isEqualTo(1);
+        } finally {
+            userRepository.deleteById(saved.getId());
+        }
+    }
+
     @Test
     @DisplayName("Registration with already existing email")
     void registerDuplicatesEmail() {
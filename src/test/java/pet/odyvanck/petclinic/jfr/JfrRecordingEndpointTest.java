@@ -0,0 +1,49 @@
+package pet.odyvanck.petclinic.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Dump contains application events of running recording")
+    void dumpsRecording() throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable(ServiceCallEvent.class);
+            recording.start();
+            ServiceCallEvent event = new ServiceCallEvent();
+            event.service = "OwnerServiceImpl";
+            event.method = "getById";
+            event.commit();
+
+            Path file = directory.resolve("dump.jfr");
+            try (InputStream dump = new JfrRecordingEndpoint(recording).dump().getInputStream()) {
+                Files.copy(dump, file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("pet.odyvanck.petclinic.ServiceCall"))
+                    .toList();
+            assertThat(events).singleElement()
+                    .satisfies(recorded -> {
+                        assertThat(recorded.getString("service")).isEqualTo("OwnerServiceImpl");
+                        assertThat(recorded.getString("method")).isEqualTo("getById");
+                    });
+            assertThat(recording.getState()).isEqualTo(jdk.jfr.RecordingState.RUNNING);
+        }
+    }
+}
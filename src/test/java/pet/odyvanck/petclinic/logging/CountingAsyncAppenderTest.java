@@ -0,0 +1,89 @@
+package pet.odyvanck.petclinic.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class CountingAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountingAsyncAppender appender = new CountingAsyncAppender();
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Events are dropped and estimated as dropped instead of blocking when queue is full")
+    void countsDroppedEvents() {
+        startBlocked(1, 0);
+
+        appender.doAppend(event(Level.ERROR));
+        appender.doAppend(event(Level.ERROR));
+        appender.doAppend(event(Level.ERROR));
+
+        assertThat(appender.getEstimatedDropped()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("INFO events are dropped below discarding threshold, ERROR ones only when queue is full")
+    void countsDiscardedEvents() {
+        startBlocked(4, 2);
+
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.ERROR));
+        appender.doAppend(event(Level.ERROR));
+
+        assertThat(appender.getEstimatedDropped()).isEqualTo(2);
+        assertThat(appender.getNumberOfElementsInQueue()).isEqualTo(4);
+    }
+
+    /**
+     * Starts appender whose worker is stuck on the first event until the test ends, so queue is only filled.
+     */
+    private void startBlocked(int queueSize, int discardingThreshold) {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+        appender.setContext(context);
+        appender.setQueueSize(queueSize);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setNeverBlock(true);
+        appender.addAppender(slow);
+        appender.start();
+
+        appender.doAppend(event(Level.ERROR));
+        await().until(() -> appender.getNumberOfElementsInQueue() == 0);
+    }
+
+    private LoggingEvent event(Level level) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, "message", null, null);
+    }
+}
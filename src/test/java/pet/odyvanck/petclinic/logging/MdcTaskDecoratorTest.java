@@ -0,0 +1,47 @@
+package pet.odyvanck.petclinic.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcTaskDecoratorTest {
+
+    private final MdcTaskDecorator decorator = new MdcTaskDecorator();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Task on virtual thread sees MDC of the submitting thread")
+    void propagatesToVirtualThread() throws Exception {
+        MDC.put("requestId", "request-1");
+        Runnable task = decorator.decorate(() -> assertThat(MDC.get("requestId")).isEqualTo("request-1"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(task).get();
+        }
+    }
+
+    @Test
+    @DisplayName("Pooled thread gets its own MDC back after the task")
+    void restoresPooledThreadMdc() throws Exception {
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> MDC.put("requestId", "pooled")).get();
+            MDC.put("requestId", "request-1");
+            Runnable task = decorator.decorate(() -> assertThat(MDC.get("requestId")).isEqualTo("request-1"));
+            executor.submit(task).get();
+
+            Future<String> afterTask = executor.submit(() -> MDC.get("requestId"));
+            assertThat(afterTask.get()).isEqualTo("pooled");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package pet.odyvanck.petclinic.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import pet.odyvanck.petclinic.data.OwnerTestFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigurationTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+    private static final Duration NOT_FOUND_TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private Cache cache;
+
+    @BeforeEach
+    void setup() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(new CacheConfiguration()
+                .caffeine(new OwnerCacheProperties(100, TIME_TO_LIVE, NOT_FOUND_TIME_TO_LIVE))
+                .ticker(nanos::get)
+                .executor(Runnable::run));
+        cacheManager.setCacheNames(List.of(CacheConfiguration.OWNERS_CACHE));
+        cache = cacheManager.getCache(CacheConfiguration.OWNERS_CACHE);
+    }
+
+    @Test
+    @DisplayName("Missing owner expires after its own shorter time, found owner stays cached")
+    void notFoundExpiresFirst() {
+        UUID id = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        OwnerSnapshot owner = OwnerSnapshot.of(OwnerTestFactory.createOwner(id, UUID.randomUUID()));
+        cache.get(id, () -> owner);
+        cache.get(missingId, () -> null);
+        assertThat(cache.get(missingId)).isNotNull();
+
+        advance(NOT_FOUND_TIME_TO_LIVE.plusSeconds(1));
+
+        assertThat(cache.get(missingId)).isNull();
+        assertThat(cache.get(id, OwnerSnapshot.class)).isSameAs(owner);
+    }
+
+    @Test
+    @DisplayName("Found owner expires after its time to live, reading doesn't prolong it")
+    void foundExpires() {
+        UUID id = UUID.randomUUID();
+        cache.get(id, () -> OwnerSnapshot.of(OwnerTestFactory.createOwner(id, UUID.randomUUID())));
+
+        advance(TIME_TO_LIVE.minusSeconds(1));
+        assertThat(cache.get(id)).isNotNull();
+        advance(Duration.ofSeconds(2));
+
+        assertThat(cache.get(id)).isNull();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
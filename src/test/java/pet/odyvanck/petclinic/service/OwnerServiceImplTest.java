@@ -1,24 +1,44 @@
 package pet.odyvanck.petclinic.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import pet.odyvanck.petclinic.dao.OwnerRepository;
 import pet.odyvanck.petclinic.data.OwnerTestFactory;
 import pet.odyvanck.petclinic.data.UserTestFactory;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 import pet.odyvanck.petclinic.domain.User;
+import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
+import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.domain.error.EntityVersionMismatchException;
+import pet.odyvanck.petclinic.service.specification.OwnerFilter;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerField;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
 import pet.odyvanck.petclinic.web.dto.owner.OwnerUpdateRequest;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -28,18 +48,36 @@ import static org.mockito.Mockito.times;
 
 class OwnerServiceImplTest {
 
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
     @Mock
     private UserService userService;
 
     @Mock
     private OwnerRepository ownerRepository;
 
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfiguration.OWNERS_CACHE);
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private Clock clock;
+
     @InjectMocks
     private OwnerServiceImpl ownerService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        given(clock.instant()).willReturn(NOW);
+        given(clock.getZone()).willReturn(ZoneOffset.UTC);
     }
 
     @Test
@@ -52,15 +90,108 @@ class OwnerServiceImplTest {
         Owner savedOwner = OwnerTestFactory.createOwner(id, userId);
         User savedUser = savedOwner.getUser();
 
-        given(userService.register(user, "StrongPass123")).willReturn(savedUser);
-        given(ownerRepository.save(owner)).willReturn(savedOwner);
+        given(userService.prepareRegistration(user, "StrongPass123")).willReturn(savedUser);
+        given(ownerRepository.insertWithUser(owner)).willReturn(true);
 
         Owner result = ownerService.register(owner, user, "StrongPass123");
 
-        assertThat(result).isNotNull();
+        assertThat(result).isSameAs(owner);
         assertThat(result.getUser()).isEqualTo(savedUser);
-        verify(userService).register(user, "StrongPass123");
-        verify(ownerRepository).save(owner);
+        verify(userService).prepareRegistration(user, "StrongPass123");
+        verify(ownerRepository).insertWithUser(owner);
+        verify(ownerRepository, never()).save(any());
+        assertThat(meterRegistry.counter(OwnerServiceImpl.REGISTERED_COUNTER, "mode", "single").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("EntityAlreadyExistsException when insert finds email taken")
+    void registerDuplicateEmail() {
+        Owner owner = OwnerTestFactory.createOwnerWithoutIdAndUser();
+        User user = UserTestFactory.createUserWithoutId();
+        given(userService.prepareRegistration(user, "pwd")).willReturn(user);
+        given(ownerRepository.insertWithUser(owner)).willReturn(false);
+
+        assertThatThrownBy(() -> ownerService.register(owner, user, "pwd"))
+                .isInstanceOf(EntityAlreadyExistsException.class)
+                .hasMessageContaining(user.getEmail());
+        assertThat(meterRegistry.counter(OwnerServiceImpl.REGISTERED_COUNTER, "mode", "single").count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Password is hashed before transaction is opened")
+    void registerHashesBeforeTransaction() {
+        Owner owner = OwnerTestFactory.createOwnerWithoutIdAndUser();
+        User user = UserTestFactory.createUserWithoutId();
+        given(userService.prepareRegistration(user, "pwd")).willReturn(user);
+        given(ownerRepository.insertWithUser(owner)).willReturn(true);
+
+        ownerService.register(owner, user, "pwd");
+
+        InOrder inOrder = inOrder(userService, transactionManager, ownerRepository);
+        inOrder.verify(userService).prepareRegistration(user, "pwd");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(ownerRepository).insertWithUser(owner);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Bulk registration rejects taken and repeated emails and saves the rest together")
+    void registerAllRejectsTakenEmails() {
+        List<User> users = UserTestFactory.createUserListWithoutId(3);
+        User repeated = UserTestFactory.createUserWithoutId();
+        repeated.setEmail(users.get(0).getEmail());
+        List<OwnerRegistration> registrations = List.of(
+                new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), users.get(0), "password0"),
+                new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), users.get(1), "password1"),
+                new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), repeated, "password2"),
+                new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), users.get(2), "password3")
+        );
+        given(userService.findRegisteredEmails(anyCollection())).willReturn(Set.of(users.get(1).getEmail()));
+        given(ownerRepository.insertAllWithUsers(anyList())).willReturn(new boolean[]{true, true});
+
+        List<OwnerRegistrationResult> results = ownerService.registerAll(registrations);
+
+        assertThat(results).extracting(OwnerRegistrationResult::isRegistered)
+                .containsExactly(true, false, false, true);
+        assertThat(results.get(1).error()).contains(users.get(1).getEmail());
+        assertThat(results.get(2).error()).contains(users.get(0).getEmail());
+        assertThat(results.get(3).owner().getUser()).isSameAs(users.get(2));
+
+        verify(userService).findRegisteredEmails(Set.of(
+                users.get(0).getEmail(), users.get(1).getEmail(), users.get(2).getEmail()
+        ));
+        InOrder inOrder = inOrder(userService, transactionManager, ownerRepository);
+        inOrder.verify(userService)
+                .prepareRegistrations(List.of(users.get(0), users.get(2)), List.of("password0", "password3"));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(ownerRepository)
+                .insertAllWithUsers(List.of(registrations.get(0).owner(), registrations.get(3).owner()));
+        verify(ownerRepository, never()).saveAll(any());
+        verify(userService, never()).register(any(), any());
+        assertThat(meterRegistry.counter(OwnerServiceImpl.REGISTERED_COUNTER, "mode", "bulk").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Bulk registration rejects owners whose email was taken after the check, the rest are registered")
+    void registerAllRejectsEmailsTakenByInsert() {
+        List<User> users = UserTestFactory.createUserListWithoutId(3);
+        List<OwnerRegistration> registrations = users.stream()
+                .map(user -> new OwnerRegistration(OwnerTestFactory.createOwnerWithoutIdAndUser(), user, "password"))
+                .toList();
+        given(userService.findRegisteredEmails(anyCollection())).willReturn(Set.of());
+        given(ownerRepository.insertAllWithUsers(anyList())).willReturn(new boolean[]{true, false, true});
+
+        List<OwnerRegistrationResult> results = ownerService.registerAll(registrations);
+
+        assertThat(results).extracting(OwnerRegistrationResult::isRegistered)
+                .containsExactly(true, false, true);
+        assertThat(results.get(1).error()).contains(users.get(1).getEmail());
+        assertThat(results.get(2).owner()).isSameAs(registrations.get(2).owner());
+        assertThat(meterRegistry.counter(OwnerServiceImpl.REGISTERED_COUNTER, "mode", "bulk").count())
+                .isEqualTo(2);
     }
 
     @Test
@@ -71,8 +202,8 @@ class OwnerServiceImplTest {
         final UUID userId = UUID.randomUUID();
         User savedUser = UserTestFactory.createUser(userId);
 
-        given(userService.register(user, "pwd")).willReturn(savedUser);
-        given(ownerRepository.save(owner)).willReturn(owner);
+        given(userService.prepareRegistration(user, "pwd")).willReturn(savedUser);
+        given(ownerRepository.insertWithUser(owner)).willReturn(true);
 
         ownerService.register(owner, user, "pwd");
 
@@ -80,37 +211,98 @@ class OwnerServiceImplTest {
     }
 
     @Test
-    @DisplayName("Call repository with correct Specification and return page")
-    void getAllSuccessfully() {
-        OwnerRequestParams params = new OwnerRequestParams("john@example.com", "+1234567890", "John");
-
-        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("firstName"));
-        List<Owner> owners = OwnerTestFactory.createOwnerList(2);
-        Page<Owner> ownerPage = new PageImpl<>(owners, pageRequest, 2);
+    @DisplayName("Call repository with all filters and return page")
+    void getAllResponsesWithAllFilters() {
+        OwnerRequestParams params = new OwnerRequestParams("john@example.com", "+1234567890", "John", "Smith", null);
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("user.firstName"));
+        Set<OwnerField> fields = EnumSet.allOf(OwnerField.class);
+        Page<OwnerResponse> responsePage = new PageImpl<>(OwnerTestFactory.createOwnerResponseList(2), pageRequest, 2);
 
-        given(ownerRepository.findAll(any(Specification.class), eq(pageRequest))).willReturn(ownerPage);
+        given(ownerRepository.findAllResponses(any(OwnerFilter.class), eq(pageRequest), eq(CountMode.EXACT),
+                eq(fields)))
+                .willReturn(responsePage);
 
-        Page<Owner> result = ownerService.getAll(pageRequest, params);
+        Slice<OwnerResponse> result = ownerService.getAllResponses(pageRequest, CountMode.EXACT, params, fields);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
+        ArgumentCaptor<OwnerFilter> filter = ArgumentCaptor.forClass(OwnerFilter.class);
         verify(ownerRepository, times(1))
-                .findAll(any(Specification.class), eq(pageRequest));
+                .findAllResponses(filter.capture(), eq(pageRequest), eq(CountMode.EXACT), eq(fields));
+        assertThat(filter.getValue()).isEqualTo(OwnerFilter.of(params));
+        assertThat(filter.getValue().conditions())
+                .extracting(OwnerFilter.Condition::column)
+                .containsExactly(OwnerFilter.Column.EMAIL, OwnerFilter.Column.PHONE,
+                        OwnerFilter.Column.FIRST_NAME, OwnerFilter.Column.LAST_NAME);
     }
 
     @Test
     @DisplayName("Support empty filters")
-    void getAllEmptyFilters() {
-        OwnerRequestParams params = new OwnerRequestParams(null, null, null);
+    void getAllResponsesEmptyFilters() {
+        OwnerRequestParams params = new OwnerRequestParams(null, null, null, null, null);
         PageRequest pageRequest = PageRequest.of(0, 5);
-        Page<Owner> emptyPage = new PageImpl<>(List.of(), pageRequest, 0);
+        Set<OwnerField> fields = EnumSet.allOf(OwnerField.class);
+        Page<OwnerResponse> emptyPage = new PageImpl<>(List.of(), pageRequest, 0);
 
-        given(ownerRepository.findAll(any(Specification.class), eq(pageRequest))).willReturn(emptyPage);
+        given(ownerRepository.findAllResponses(any(OwnerFilter.class), eq(pageRequest), eq(CountMode.EXACT),
+                eq(fields)))
+                .willReturn(emptyPage);
 
-        Page<Owner> result = ownerService.getAll(pageRequest, params);
+        Slice<OwnerResponse> result = ownerService.getAllResponses(pageRequest, CountMode.EXACT, params, fields);
 
         assertThat(result.getContent()).isEmpty();
-        verify(ownerRepository).findAll(any(Specification.class), eq(pageRequest));
+        verify(ownerRepository).findAllResponses(argThat(OwnerFilter::isEmpty), eq(pageRequest), eq(CountMode.EXACT),
+                eq(fields));
+    }
+
+    @Test
+    @DisplayName("Responses are taken from repository projection with the same page request")
+    void getAllResponsesSuccessfully() {
+        OwnerRequestParams params = new OwnerRequestParams("john@example.com", null, null, null, null);
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by("user.email"));
+        Page<OwnerResponse> responsePage = new PageImpl<>(OwnerTestFactory.createOwnerResponseList(2), pageRequest, 2);
+
+        Set<OwnerField> fields = EnumSet.of(OwnerField.ID, OwnerField.EMAIL);
+        given(ownerRepository.findAllResponses(eq(OwnerFilter.of(params)), eq(pageRequest), eq(CountMode.EXACT),
+                eq(fields)))
+                .willReturn(responsePage);
+
+        Slice<OwnerResponse> result = ownerService.getAllResponses(pageRequest, CountMode.EXACT, params, fields);
+
+        assertThat(result).isSameAs(responsePage);
+        verify(ownerRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Exported responses are passed to consumer and repository stream is closed")
+    void exportResponsesClosesStream() {
+        OwnerRequestParams params = new OwnerRequestParams(null, null, null, "lastName", null);
+        List<OwnerResponse> responses = OwnerTestFactory.createOwnerResponseList(3);
+        AtomicBoolean closed = new AtomicBoolean();
+        given(ownerRepository.streamResponses(OwnerFilter.of(params)))
+                .willReturn(responses.stream().onClose(() -> closed.set(true)));
+
+        List<OwnerResponse> exported = new ArrayList<>();
+        ownerService.exportResponses(params, exported::add);
+
+        assertThat(exported).containsExactlyElementsOf(responses);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Keyset window is taken from repository without counting")
+    void getAllByKeysetSuccessfully() {
+        OwnerRequestParams params = new OwnerRequestParams(null, null, "John", null, null);
+        List<Owner> owners = OwnerTestFactory.createOwnerList(2);
+        Window<Owner> window = Window.from(owners, ScrollPosition::offset, true);
+
+        given(ownerRepository.findBy(any(Specification.class), any())).willReturn(window);
+
+        Window<Owner> result = ownerService.getAll(ScrollPosition.keyset(), Sort.by("user.email"), 2, params);
+
+        assertThat(result).isSameAs(window);
+        verify(ownerRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(ownerRepository, never()).count(any(Specification.class));
     }
 
     @Test
@@ -121,13 +313,103 @@ class OwnerServiceImplTest {
 
         when(ownerRepository.findById(id)).thenReturn(Optional.of(OwnerTestFactory.createOwner(id, userId)));
 
-        Owner found = ownerService.getById(id);
+        OwnerSnapshot found = ownerService.getById(id);
 
         assertThat(found).isNotNull();
-        assertThat(found.getId()).isEqualTo(id);
+        assertThat(found.owner().id()).isEqualTo(id);
+        assertThat(found.owner().userId()).isEqualTo(userId);
         verify(ownerRepository).findById(id);
     }
 
+    @Test
+    @DisplayName("Getting owner by id second time reads it from cache")
+    void getByIdCached() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.findById(id)).thenReturn(Optional.of(OwnerTestFactory.createOwner(id, UUID.randomUUID())));
+
+        OwnerSnapshot first = ownerService.getById(id);
+        OwnerSnapshot second = ownerService.getById(id);
+
+        assertThat(second).isSameAs(first);
+        verify(ownerRepository, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Not found owner is cached as well")
+    void getByIdNotFoundCached() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.findById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownerService.getById(id)).isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> ownerService.getById(id)).isInstanceOf(EntityNotFoundException.class);
+
+        verify(ownerRepository, times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Getting owners by ids reads only uncached ones, in order of ids")
+    void getAllByIdsReadsUncached() {
+        final UUID cachedId = UUID.randomUUID();
+        final UUID id = UUID.randomUUID();
+        final UUID missingId = UUID.randomUUID();
+        when(ownerRepository.findById(cachedId))
+                .thenReturn(Optional.of(OwnerTestFactory.createOwner(cachedId, UUID.randomUUID())));
+        OwnerSnapshot cached = ownerService.getById(cachedId);
+        when(ownerRepository.findAllWithUserByIds(Set.of(id, missingId)))
+                .thenReturn(List.of(OwnerTestFactory.createOwner(id, UUID.randomUUID())));
+
+        OwnerLookupResult result = ownerService.getAllByIds(List.of(id, missingId, cachedId, id));
+
+        assertThat(result.owners()).extracting(OwnerResponse::id).containsExactly(id, cachedId);
+        assertThat(result.owners().get(1)).isSameAs(cached.owner());
+        assertThat(result.missingIds()).containsExactly(missingId);
+    }
+
+    @Test
+    @DisplayName("Getting owners by ids doesn't read cached missing ids again")
+    void getAllByIdsCachedMissing() {
+        final UUID missingId = UUID.randomUUID();
+        when(ownerRepository.findById(missingId)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> ownerService.getById(missingId)).isInstanceOf(EntityNotFoundException.class);
+
+        OwnerLookupResult result = ownerService.getAllByIds(List.of(missingId));
+
+        assertThat(result.owners()).isEmpty();
+        assertThat(result.missingIds()).containsExactly(missingId);
+        verify(ownerRepository, never()).findAllWithUserByIds(any());
+    }
+
+    @Test
+    @DisplayName("Update evicts owner from cache")
+    void updateEvictsCachedOwner() {
+        final UUID id = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
+        when(ownerRepository.findById(id)).thenAnswer(invocation -> Optional.of(OwnerTestFactory.createOwner(id, userId)));
+        when(ownerRepository.updateWithUser(eq(id), eq(updateRequest), isNull(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(updatedOwner(id, userId, updateRequest)));
+        OwnerSnapshot cached = ownerService.getById(id);
+
+        ownerService.update(id, updateRequest, null);
+
+        assertThat(ownerService.getById(id)).isNotSameAs(cached);
+        assertThat(cached.owner().phone()).isEqualTo("+1234567890");
+    }
+
+    @Test
+    @DisplayName("Deletion evicts owner from cache")
+    void deleteEvictsCachedOwner() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.findById(id)).thenReturn(Optional.of(OwnerTestFactory.createOwner(id, UUID.randomUUID())));
+        when(ownerRepository.deleteWithUser(id)).thenReturn(true);
+        ownerService.getById(id);
+        when(ownerRepository.findById(id)).thenReturn(Optional.empty());
+
+        ownerService.deleteById(id);
+
+        assertThatThrownBy(() -> ownerService.getById(id)).isInstanceOf(EntityNotFoundException.class);
+    }
+
     @Test
     @DisplayName("Throwing exception when owner not found")
     void getByIdThrowsExceptionNotFound() {
@@ -147,41 +429,107 @@ class OwnerServiceImplTest {
         OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
         final UUID id = UUID.randomUUID();
         final UUID userId = UUID.randomUUID();
-        when(ownerRepository.findById(id)).thenReturn(Optional.of(OwnerTestFactory.createOwner(id, userId)));
-        when(ownerRepository.save(any(Owner.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Owner expected = updatedOwner(id, userId, updateRequest);
+        ArgumentCaptor<LocalDateTime> updatedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(ownerRepository.updateWithUser(eq(id), eq(updateRequest), isNull(), updatedAt.capture()))
+                .thenReturn(Optional.of(expected));
+
+        Owner updated = ownerService.update(id, updateRequest, null);
+
+        assertThat(updated).isSameAs(expected);
+        assertThat(updatedAt.getValue()).isEqualTo(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC));
+        verify(ownerRepository, never()).findById(any());
+        verify(ownerRepository, never()).save(any(Owner.class));
+    }
 
-        Owner updated = ownerService.update(id, updateRequest);
+    @Test
+    @DisplayName("Update of not existing owner")
+    void updateNotFound() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.updateWithUser(eq(id), any(), isNull(), any())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownerService.update(id, OwnerTestFactory.createOwnerUpdateRequest(), null))
+                .isInstanceOf(EntityNotFoundException.class);
+        verify(ownerRepository, never()).findVersionById(any());
+    }
+
+
+    @Test
+    @DisplayName("Update of owner entity with expected version")
+    void updateWithExpectedVersion() {
+        OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
+        final UUID id = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        when(ownerRepository.updateWithUser(eq(id), eq(updateRequest), eq(new OwnerVersion(0, 0)), any()))
+                .thenReturn(Optional.of(updatedOwner(id, userId, updateRequest)));
+
+        Owner updated = ownerService.update(id, updateRequest, new OwnerVersion(0, 0));
 
         assertThat(updated.getPhone()).isEqualTo(updateRequest.phone());
-        assertThat(updated.getAddress()).isEqualTo(updateRequest.address());
-        assertThat(updated.getUser().getFirstName()).isEqualTo(updateRequest.firstName());
-        assertThat(updated.getUser().getLastName()).isEqualTo(updateRequest.lastName());
-        assertThat(updated.getUpdatedAt()).isNotNull().isBeforeOrEqualTo(LocalDateTime.now(ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Update of owner entity fails when owner has another version")
+    void updateVersionMismatch() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.updateWithUser(eq(id), any(), eq(new OwnerVersion(0, 1)), any())).thenReturn(Optional.empty());
+        when(ownerRepository.findVersionById(id)).thenReturn(Optional.of(new OwnerVersion(0, 0)));
 
-        verify(ownerRepository).save(any(Owner.class));
+        assertThatThrownBy(() -> ownerService.update(id, OwnerTestFactory.createOwnerUpdateRequest(), new OwnerVersion(0, 1)))
+                .isInstanceOf(EntityVersionMismatchException.class)
+                .hasMessageContaining("Owner with id '" + id + "'");
     }
 
+    @Test
+    @DisplayName("Getting version of owner")
+    void getVersion() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.findVersionById(id)).thenReturn(Optional.of(new OwnerVersion(2, 1)));
+
+        assertThat(ownerService.getVersion(id)).isEqualTo(new OwnerVersion(2, 1));
+        verify(ownerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Getting version of not existing owner")
+    void getVersionNotFound() {
+        final UUID id = UUID.randomUUID();
+        when(ownerRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownerService.getVersion(id))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
 
     @Test
     @DisplayName("Deletion by id")
     void deleteByIdSuccessfully() {
         final UUID id = UUID.randomUUID();
-        when(ownerRepository.existsById(id)).thenReturn(true);
+        when(ownerRepository.deleteWithUser(id)).thenReturn(true);
 
-        ownerService.deleteById(id);
+        assertThat(ownerService.deleteById(id)).isTrue();
 
-        verify(ownerRepository).deleteById(id);
+        verify(ownerRepository, never()).existsById(any());
+        verify(ownerRepository, never()).deleteById(any(UUID.class));
     }
 
     @Test
     @DisplayName("Deletion when owner does not exist")
     void deleteByIdOwnerDoesNotExist() {
         final UUID id = UUID.randomUUID();
-        when(ownerRepository.existsById(id)).thenReturn(false);
+        when(ownerRepository.deleteWithUser(id)).thenReturn(false);
 
-        ownerService.deleteById(id);
+        assertThat(ownerService.deleteById(id)).isFalse();
+    }
 
-        verify(ownerRepository, never()).deleteById(any(UUID.class));
+    private static Owner updatedOwner(UUID id, UUID userId, OwnerUpdateRequest request) {
+        Owner owner = OwnerTestFactory.createOwner(id, userId);
+        owner.setPhone(request.phone());
+        owner.setAddress(request.address());
+        owner.getUser().setFirstName(request.firstName());
+        owner.getUser().setLastName(request.lastName());
+        owner.setVersion(1L);
+        owner.getUser().setVersion(1L);
+        return owner;
     }
 
 }
@@ -0,0 +1,65 @@
+package pet.odyvanck.petclinic.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+
+class PasswordHasherTest {
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        passwordHasher = new PasswordHasher(passwordEncoder, Executors.newFixedThreadPool(2,
+                Thread.ofPlatform().name("test-hasher-", 0).factory()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.close();
+    }
+
+    @Test
+    @DisplayName("Password is hashed on hasher thread, not on caller")
+    void hashOnHasherThread() {
+        willAnswer(invocation -> Thread.currentThread().getName() + ":" + invocation.getArgument(0))
+                .given(passwordEncoder).encode(anyString());
+
+        assertThat(passwordHasher.hash("psw")).startsWith("test-hasher-").endsWith(":psw");
+    }
+
+    @Test
+    @DisplayName("Hashes of many passwords keep order of passwords")
+    void hashAllKeepsOrder() {
+        willAnswer(invocation -> "hashed-" + invocation.getArgument(0))
+                .given(passwordEncoder).encode(anyString());
+
+        assertThat(passwordHasher.hashAll(List.of("a", "b", "c", "d")))
+                .containsExactly("hashed-a", "hashed-b", "hashed-c", "hashed-d");
+    }
+
+    @Test
+    @DisplayName("Encoder failure is rethrown to caller")
+    void hashFailure() {
+        IllegalArgumentException cause = new IllegalArgumentException("bad password");
+        given(passwordEncoder.encode("psw")).willThrow(cause);
+
+        assertThatThrownBy(() -> passwordHasher.hash("psw"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCause(cause);
+    }
+}
@@ -4,14 +4,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import pet.odyvanck.petclinic.dao.UserRepository;
 import pet.odyvanck.petclinic.data.UserTestFactory;
 import pet.odyvanck.petclinic.domain.User;
 import pet.odyvanck.petclinic.domain.UserStatus;
 import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,7 +26,12 @@ class UserServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -41,25 +48,86 @@ class UserServiceImplTest {
         String rawPassword = "strongPsw";
         String hashedPassword = "superHashedPsw";
 
-        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.empty());
-        given(passwordEncoder.encode(rawPassword)).willReturn(hashedPassword);
+        given(userRepository.existsByEmail(user.getEmail())).willReturn(false);
+        given(passwordHasher.hash(rawPassword)).willReturn(hashedPassword);
         given(userRepository.save(user)).willReturn(user);
 
         User saved = userService.register(user, rawPassword);
 
         assertThat(saved.getPasswordHash()).isEqualTo(hashedPassword);
         assertThat(saved.getStatus()).isEqualTo(UserStatus.ACTIVE);
-        verify(passwordEncoder).encode(rawPassword);
+        verify(passwordHasher).hash(rawPassword);
         verify(userRepository).save(user);
     }
 
+    @Test
+    @DisplayName("Password is hashed before transaction of email check and save is opened")
+    void registerHashesBeforeTransaction() {
+        User user = UserTestFactory.createUserWithoutId();
+        given(passwordHasher.hash("strongPsw")).willReturn("superHashedPsw");
+        given(userRepository.existsByEmail(user.getEmail())).willReturn(false);
+        given(userRepository.save(user)).willReturn(user);
+
+        userService.register(user, "strongPsw");
+
+        InOrder inOrder = inOrder(passwordHasher, transactionManager, userRepository);
+        inOrder.verify(passwordHasher).hash("strongPsw");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).existsByEmail(user.getEmail());
+        inOrder.verify(userRepository).save(user);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Prepare user with hashed password and ACTIVE status without touching database")
+    void prepareRegistrationDoesNotSave() {
+        User user = UserTestFactory.createUserWithoutId();
+
+        given(passwordHasher.hash("strongPsw")).willReturn("superHashedPsw");
+
+        User prepared = userService.prepareRegistration(user, "strongPsw");
+
+        assertThat(prepared).isSameAs(user);
+        assertThat(prepared.getPasswordHash()).isEqualTo("superHashedPsw");
+        assertThat(prepared.getStatus()).isEqualTo(UserStatus.ACTIVE);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Prepare users with passwords hashed together, ACTIVE status")
+    void prepareRegistrationsSuccessfully() {
+        List<User> users = UserTestFactory.createUserListWithoutId(2);
+
+        given(passwordHasher.hashAll(List.of("psw0", "psw1"))).willReturn(List.of("hashed-psw0", "hashed-psw1"));
+
+        List<User> prepared = userService.prepareRegistrations(users, List.of("psw0", "psw1"));
+
+        assertThat(prepared).extracting(User::getPasswordHash).containsExactly("hashed-psw0", "hashed-psw1");
+        assertThat(prepared).extracting(User::getStatus).containsOnly(UserStatus.ACTIVE);
+        verify(passwordHasher, never()).hash(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Taken emails are checked with one query")
+    void findRegisteredEmails() {
+        given(userRepository.findEmailsIn(List.of("a@example.com", "b@example.com")))
+                .willReturn(Set.of("b@example.com"));
+
+        assertThat(userService.findRegisteredEmails(List.of("a@example.com", "b@example.com")))
+                .containsExactly("b@example.com");
+        assertThat(userService.findRegisteredEmails(List.of())).isEmpty();
+        verify(userRepository).findEmailsIn(any());
+    }
+
     @Test
     @DisplayName("EntityAlreadyExistsException when email already exists")
     void registerDuplicateEmail() {
         User user = UserTestFactory.createUserWithoutId();
         String rawPassword = "psw";
 
-        given(userRepository.findByEmail(user.getEmail())).willReturn(Optional.of(user));
+        given(passwordHasher.hash(rawPassword)).willReturn("hashedPsw");
+        given(userRepository.existsByEmail(user.getEmail())).willReturn(true);
 
         assertThatThrownBy(() -> userService.register(user, rawPassword))
                 .isInstanceOf(EntityAlreadyExistsException.class)
@@ -68,7 +136,7 @@ class UserServiceImplTest {
                 .hasMessageContaining(user.getEmail());
 
         verify(userRepository, never()).save(any());
-        verify(passwordEncoder, never()).encode(any());
+        verify(transactionManager).rollback(any());
     }
 
 }
@@ -0,0 +1,58 @@
+package pet.odyvanck.petclinic.service.specification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnerFilterTest {
+
+    @Test
+    @DisplayName("Filters are rendered as SQL conditions with escaped arguments")
+    void toSql() {
+        OwnerFilter filter = OwnerFilter.of(new OwnerRequestParams("John@Example.com", "+123", null, "O_Neil", "Ivan  street"));
+        Map<String, Object> arguments = new HashMap<>();
+
+        String sql = filter.toSql(arguments);
+
+        assertThat(sql).isEqualTo("lower(u.email) = :filter0 AND o.phone = :filter1"
+                + " AND lower(u.last_name) LIKE :filter2 ESCAPE '\\'"
+                + " AND o.search_text LIKE :filter3 ESCAPE '\\' AND o.search_text LIKE :filter4 ESCAPE '\\'");
+        assertThat(arguments).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "filter0", "john@example.com",
+                "filter1", "+123",
+                "filter2", "%o\\_neil%",
+                "filter3", "%ivan%",
+                "filter4", "%street%"
+        ));
+        assertThat(filter.joinsUser()).isTrue();
+        assertThat(filter.searchText()).isEqualTo("ivan  street");
+    }
+
+    @Test
+    @DisplayName("Owner filters don't need users to be joined, no filters give no conditions")
+    void ownerFiltersOnly() {
+        assertThat(OwnerFilter.of(new OwnerRequestParams(null, "+123", null, null, "ivan")).joinsUser()).isFalse();
+        assertThat(OwnerFilter.of(new OwnerRequestParams(null, null, null, null, " ")).isEmpty()).isTrue();
+        assertThat(OwnerFilter.of(new OwnerRequestParams(null, null, null, null, null)).toSql(new HashMap<>()))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Totals of ranked owners are bounded by ranked candidates, totals of sorted owners are not")
+    void rankedTotal() {
+        OwnerFilter filter = OwnerFilter.of(new OwnerRequestParams(null, null, null, null, "ivan"));
+        long total = OwnerFilter.RANKED_CANDIDATES + 500L;
+
+        assertThat(filter.rankedTotal(Sort.unsorted(), total)).isEqualTo(OwnerFilter.RANKED_CANDIDATES);
+        assertThat(filter.rankedTotal(Sort.unsorted(), 10)).isEqualTo(10);
+        assertThat(filter.rankedTotal(Sort.by("id"), total)).isEqualTo(total);
+        assertThat(OwnerFilter.of(new OwnerRequestParams(null, "+123", null, null, null))
+                .rankedTotal(Sort.unsorted(), total)).isEqualTo(total);
+    }
+}
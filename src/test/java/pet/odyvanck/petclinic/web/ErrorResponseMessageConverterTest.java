@@ -0,0 +1,96 @@
+package pet.odyvanck.petclinic.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pet.odyvanck.petclinic.web.dto.ErrorResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseMessageConverterTest {
+
+    /**
+     * Configured like the one of Spring Boot.
+     */
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final ErrorResponseMessageConverter converter = new ErrorResponseMessageConverter(objectMapper);
+
+    static Stream<ErrorResponse> responses() {
+        ErrorResponse withoutSeconds = new ErrorResponse(HttpStatus.NOT_FOUND, "Owner with id '42' not found");
+        withoutSeconds.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0));
+        ErrorResponse withoutTimestamp = new ErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, null);
+        withoutTimestamp.setTimestamp(null);
+        ErrorResponse withTenthOfSecond = new ErrorResponse(HttpStatus.CONFLICT, "conflict");
+        withTenthOfSecond.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0, 59, 100_000_000));
+        ErrorResponse withNanos = new ErrorResponse(HttpStatus.CONFLICT, "conflict");
+        withNanos.setTimestamp(LocalDateTime.of(2025, 1, 1, 12, 0, 59, 123_456_789));
+        return Stream.of(
+                new ErrorResponse(HttpStatus.NOT_FOUND, "Owner with id '42' not found"),
+                new ErrorResponse(HttpStatus.BAD_REQUEST, "Invalid value of parameter 'id': \"x\"\n\t\\ юникод </script>"),
+                new ErrorResponse(HttpStatus.BAD_REQUEST, "Validation errors in request data", new TreeMap<>(Map.of(
+                        "email", "Email must be valid",
+                        "phone", "Phone number must contain only digits"
+                ))),
+                withoutSeconds,
+                withoutTimestamp,
+                withTenthOfSecond,
+                withNanos
+        );
+    }
+
+    @Test
+    @DisplayName("Errors of the same second are written with their own fraction of second")
+    void writesSameSecond() throws Exception {
+        LocalDateTime second = LocalDateTime.of(2025, 1, 1, 12, 0, 1);
+        for (int nanos : new int[]{5, 0, 999_999_999, 5}) {
+            ErrorResponse response = new ErrorResponse(HttpStatus.NOT_FOUND, "not found");
+            response.setTimestamp(second.withNano(nanos));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            converter.write(response, out);
+
+            assertThat(out.toString()).isEqualTo(objectMapper.writeValueAsString(response));
+        }
+    }
+
+    @Test
+    @DisplayName("Error response follows Jackson settings which prebuilt JSON doesn't")
+    void followsJacksonSettings() throws Exception {
+        ObjectMapper upperCamelCase = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.UPPER_CAMEL_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        ErrorResponse response = new ErrorResponse(HttpStatus.NOT_FOUND, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new ErrorResponseMessageConverter(upperCamelCase).write(response, out);
+
+        assertThat(out.toString()).isEqualTo(upperCamelCase.writeValueAsString(response)).contains("\"Status\"");
+    }
+
+    @ParameterizedTest
+    @MethodSource("responses")
+    @DisplayName("Error response is written exactly like Jackson writes it")
+    void writesLikeJackson(ErrorResponse response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        converter.write(response, out);
+
+        assertThat(out.toString()).isEqualTo(objectMapper.writeValueAsString(response));
+    }
+}
@@ -0,0 +1,51 @@
+package pet.odyvanck.petclinic.web;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCorrelationFilterTest {
+
+    private final RequestCorrelationFilter filter = new RequestCorrelationFilter();
+    private final Map<String, String> seen = new HashMap<>();
+    private final FilterChain chain = (request, response) -> seen.putAll(MDC.getCopyOfContextMap());
+
+    @Test
+    @DisplayName("Ids from headers are put into MDC for the request and removed after it")
+    void usesHeaders() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/owners");
+        request.addHeader("X-Request-Id", "request-1");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(seen).containsEntry("requestId", "request-1")
+                .containsEntry("traceId", "4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(response.getHeader("X-Request-Id")).isEqualTo("request-1");
+        assertThat(MDC.get("requestId")).isNull();
+        assertThat(MDC.get("traceId")).isNull();
+    }
+
+    @Test
+    @DisplayName("Missing and malformed ids are generated")
+    void generatesIds() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/owners");
+        request.addHeader("X-Request-Id", "bad id\n{\"level\":\"ERROR\"}");
+        request.addHeader("traceparent", "garbage");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(seen.get("requestId")).hasSize(36).isEqualTo(response.getHeader("X-Request-Id"));
+        assertThat(seen.get("traceId")).matches("[0-9a-f]{32}");
+    }
+}
@@ -0,0 +1,66 @@
+package pet.odyvanck.petclinic.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseLengthFilterTest {
+
+    private final ResponseLengthFilter filter = new ResponseLengthFilter(serverProperties());
+
+    @Test
+    @DisplayName("Flushed body is written, but response stays uncommitted")
+    void ignoresFlushes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/owners");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.getOutputStream().write("{\"elements\":[]}".getBytes(StandardCharsets.UTF_8));
+            res.getOutputStream().flush();
+            res.flushBuffer();
+        });
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsString()).isEqualTo("{\"elements\":[]}");
+    }
+
+    @Test
+    @DisplayName("Flush commits response once body reaches compression min size, so streamed body is sent")
+    void passesFlushesOfBigBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/owners/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            res.getOutputStream().write(new byte[63]);
+            res.getOutputStream().flush();
+            assertThat(res.isCommitted()).isFalse();
+            res.getOutputStream().write(new byte[1]);
+            res.getOutputStream().flush();
+        });
+
+        assertThat(response.isCommitted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Reactive servlet responses are not wrapped")
+    void skipsReactiveServlet() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/reactive/owners");
+        request.setServletPath(ReactiveWebConfiguration.REACTIVE_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> assertThat(res).isSameAs(response));
+    }
+
+    private static ServerProperties serverProperties() {
+        ServerProperties properties = new ServerProperties();
+        properties.getCompression().setMinResponseSize(DataSize.ofBytes(64));
+        return properties;
+    }
+}
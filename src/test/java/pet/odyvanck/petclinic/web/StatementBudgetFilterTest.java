@@ -0,0 +1,78 @@
+package pet.odyvanck.petclinic.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import pet.odyvanck.petclinic.dao.StatementBudgetProperties;
+import pet.odyvanck.petclinic.dao.StatementTracker;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementBudgetFilterTest {
+
+    private final StatementTracker tracker = new StatementTracker();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementBudgetFilter filter = new StatementBudgetFilter(
+            tracker,
+            new StatementBudgetProperties(2, 1, Map.of("POST /api/v1/owners/bulk", 3)),
+            meterRegistry
+    );
+
+    @Test
+    @DisplayName("Statements and their time are recorded by method and uri pattern")
+    void recordsStatements() throws Exception {
+        filter.doFilter(request("GET", "/api/v1/owners/{id}"), new MockHttpServletResponse(), executing(
+                "select owner", "select pets"
+        ));
+
+        assertThat(meterRegistry.get("jdbc.request.statements")
+                .tags("method", "GET", "uri", "/api/v1/owners/{id}").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("jdbc.request.time")
+                .tags("method", "GET", "uri", "/api/v1/owners/{id}").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("jdbc.request.budget.exceeded").counters()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Requests over statement budget and with repeated statements are counted")
+    void countsExceededBudget() throws Exception {
+        filter.doFilter(request("GET", "/api/v1/owners"), new MockHttpServletResponse(), executing(
+                "select owners", "select user", "select user"
+        ));
+
+        assertThat(meterRegistry.get("jdbc.request.budget.exceeded")
+                .tags("uri", "/api/v1/owners", "reason", "statements").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jdbc.request.budget.exceeded")
+                .tags("uri", "/api/v1/owners", "reason", "repeated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Endpoint budget overrides default one")
+    void usesEndpointBudget() throws Exception {
+        filter.doFilter(request("POST", "/api/v1/owners/bulk"), new MockHttpServletResponse(), executing(
+                "select emails", "insert users", "insert owners"
+        ));
+
+        assertThat(meterRegistry.find("jdbc.request.budget.exceeded").counters()).isEmpty();
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+
+    private FilterChain executing(String... statements) {
+        return (request, response) -> {
+            for (String sql : statements) {
+                tracker.record(sql, false, 1_000);
+            }
+        };
+    }
+}
@@ -1,23 +1,49 @@
 package pet.odyvanck.petclinic.web.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
 import pet.odyvanck.petclinic.data.OwnerTestFactory;
 import pet.odyvanck.petclinic.data.UserTestFactory;
 import pet.odyvanck.petclinic.domain.Owner;
+import pet.odyvanck.petclinic.domain.OwnerVersion;
 import pet.odyvanck.petclinic.domain.error.EntityAlreadyExistsException;
+import pet.odyvanck.petclinic.domain.error.EntityVersionMismatchException;
+import pet.odyvanck.petclinic.service.OwnerLookupResult;
+import pet.odyvanck.petclinic.service.OwnerRegistration;
+import pet.odyvanck.petclinic.service.OwnerRegistrationResult;
 import pet.odyvanck.petclinic.service.OwnerService;
+import pet.odyvanck.petclinic.service.OwnerSnapshot;
+import pet.odyvanck.petclinic.web.BinaryFormatConfiguration;
+import pet.odyvanck.petclinic.web.ErrorResponseMessageConverter;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.KeysetCursor;
 import pet.odyvanck.petclinic.web.dto.owner.*;
 import pet.odyvanck.petclinic.web.mapper.OwnerMapper;
 
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,8 +68,15 @@ class OwnerControllerTest {
         objectMapper = new ObjectMapper();
 
         var controller = new OwnerController(ownerService, ownerMapper);
+        var binaryFormats = new BinaryFormatConfiguration();
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(
+                        new ErrorResponseMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                        new MappingJackson2HttpMessageConverter(),
+                        binaryFormats.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                        binaryFormats.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                )
                 .build();
     }
 
@@ -88,15 +121,86 @@ class OwnerControllerTest {
                 .andExpect(jsonPath("$.details.email").exists());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/owners/bulk → should return result for every owner")
+    void registerAllReturnsItemResults() throws Exception {
+        final UUID id = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        var request = OwnerTestFactory.createOwnerCreationRequest();
+        var owner = OwnerTestFactory.createOwner(id, userId);
+        var response = OwnerTestFactory.createOwnerResponse(id, userId);
+
+        given(ownerMapper.toUser(request)).willReturn(owner.getUser());
+        given(ownerMapper.toOwner(request)).willReturn(owner);
+        given(ownerService.registerAll(anyList())).willReturn(List.of(
+                OwnerRegistrationResult.registered(owner),
+                OwnerRegistrationResult.rejected("User with email 'email@example.com' already exists")
+        ));
+        given(ownerMapper.toDto(owner)).willReturn(response);
+
+        mockMvc.perform(post(BASE_URI + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OwnerBulkCreationRequest(List.of(request, request)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[0].index").value(0))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].owner.id").value(id.toString()))
+                .andExpect(jsonPath("$.items[0].error").doesNotExist())
+                .andExpect(jsonPath("$.items[1].index").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.items[1].owner").doesNotExist())
+                .andExpect(jsonPath("$.items[1].error").value("User with email 'email@example.com' already exists"));
+
+        ArgumentCaptor<List<OwnerRegistration>> captor = ArgumentCaptor.forClass(List.class);
+        verify(ownerService).registerAll(captor.capture());
+        assertThat(captor.getValue())
+                .hasSize(2)
+                .allSatisfy(registration -> {
+                    assertThat(registration.owner()).isSameAs(owner);
+                    assertThat(registration.user()).isSameAs(owner.getUser());
+                    assertThat(registration.password()).isEqualTo("StrongPass123");
+                });
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/owners/bulk → should fail whole request when some owner is invalid")
+    void registerAllWithInvalidOwner() throws Exception {
+        var valid = OwnerTestFactory.createOwnerCreationRequest();
+        var invalid = new OwnerCreationRequest(
+                "", "lastName", "StrongPass123", "+1234567890", "not-an-email", "address"
+        );
+
+        mockMvc.perform(post(BASE_URI + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OwnerBulkCreationRequest(List.of(valid, invalid)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details['owners[1].email']").exists())
+                .andExpect(jsonPath("$.details['owners[1].firstName']").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/owners/bulk → should fail on empty list")
+    void registerAllEmpty() throws Exception {
+        mockMvc.perform(post(BASE_URI + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OwnerBulkCreationRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.owners").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
     @Test
     @DisplayName("GET /api/v1/owners → should return paginated list of owners")
     void getAllOwnersSuccessfully() throws Exception {
-        var owners = OwnerTestFactory.createOwnerList(2);
         var responses = OwnerTestFactory.createOwnerResponseList(2);
-        Page<Owner> page = new PageImpl<>(owners, PageRequest.of(0, 10), 2);
+        Page<OwnerResponse> page = new PageImpl<>(responses, PageRequest.of(0, 10), 2);
 
-        given(ownerService.getAll(any(PageRequest.class), any())).willReturn(page);
-        given(ownerMapper.toDto(owners)).willReturn(responses);
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(), any())).willReturn(page);
 
         mockMvc.perform(get(BASE_URI)
                         .param("page", "0")
@@ -110,6 +214,7 @@ class OwnerControllerTest {
                 .andExpect(jsonPath("$.totalPages").value(1))
 
                 .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.count").value("EXACT"))
 
                 .andExpect(jsonPath("$.elements[0].firstName").value("firstName1"))
                 .andExpect(jsonPath("$.elements[1].email").value("email2@example.com"));
@@ -118,8 +223,8 @@ class OwnerControllerTest {
     @Test
     @DisplayName("GET /api/v1/owners → should return empty list when no owners exist")
     void getAllOwnersEmpty() throws Exception {
-        Page<Owner> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
-        given(ownerService.getAll(any(PageRequest.class), any())).willReturn(emptyPage);
+        Page<OwnerResponse> emptyPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(), any())).willReturn(emptyPage);
 
         mockMvc.perform(get(BASE_URI)
                         .param("page", "0")
@@ -131,8 +236,8 @@ class OwnerControllerTest {
     @Test
     @DisplayName("GET /api/v1/owners → should transform sort field 'email' to 'user.email'")
     void getAllTransformsSortFieldEmailToUserEmail() throws Exception {
-        Page<Owner> page = new PageImpl<>(OwnerTestFactory.createOwnerList(1));
-        given(ownerService.getAll(any(PageRequest.class), any())).willReturn(page);
+        Page<OwnerResponse> page = new PageImpl<>(OwnerTestFactory.createOwnerResponseList(1));
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(), any())).willReturn(page);
 
         mockMvc.perform(get(BASE_URI)
                         .param("page", "0")
@@ -141,7 +246,7 @@ class OwnerControllerTest {
                 .andExpect(status().isOk());
 
         ArgumentCaptor<PageRequest> captor = ArgumentCaptor.forClass(PageRequest.class);
-        verify(ownerService).getAll(captor.capture(), any());
+        verify(ownerService).getAllResponses(captor.capture(), eq(CountMode.EXACT), any(), any());
 
         PageRequest actualPageRequest = captor.getValue();
 
@@ -152,6 +257,242 @@ class OwnerControllerTest {
                 .isNotNull();
     }
 
+    @Test
+    @DisplayName("GET /api/v1/owners?count=NONE → should return hasNext instead of totals")
+    void getAllWithoutCount() throws Exception {
+        var responses = OwnerTestFactory.createOwnerResponseList(2);
+        given(ownerService.getAllResponses(any(PageRequest.class), eq(CountMode.NONE), any(), any()))
+                .willReturn(new SliceImpl<>(responses, PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("size", "2")
+                        .param("count", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements.length()").value(2))
+                .andExpect(jsonPath("$.page").value(0))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.count").value("NONE"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?count=ESTIMATED → should pass count mode to service")
+    void getAllWithEstimatedCount() throws Exception {
+        given(ownerService.getAllResponses(any(PageRequest.class), eq(CountMode.ESTIMATED), any(), any()))
+                .willReturn(new PageImpl<>(OwnerTestFactory.createOwnerResponseList(1), PageRequest.of(0, 10), 1000));
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("count", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1000))
+                .andExpect(jsonPath("$.count").value("ESTIMATED"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?fields=... → should read and return only requested fields")
+    void getAllWithFields() throws Exception {
+        var responses = OwnerTestFactory.createOwnerResponseList(1);
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(),
+                eq(EnumSet.of(OwnerField.ID, OwnerField.LAST_NAME))))
+                .willReturn(new PageImpl<>(responses));
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("fields", "lastName,id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements[0].length()").value(2))
+                .andExpect(jsonPath("$.elements[0].id").value(responses.getFirst().id().toString()))
+                .andExpect(jsonPath("$.elements[0].lastName").value(responses.getFirst().lastName()))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?fields=... → should fail on unknown field")
+    void getAllWithUnknownField() throws Exception {
+        mockMvc.perform(get(BASE_URI)
+                        .param("fields", "id,passwordHash"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.fields").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/x-jackson-smile", "application/cbor"})
+    @DisplayName("GET /api/v1/owners → should return page in binary format from Accept header")
+    void getAllInBinaryFormat(String format) throws Exception {
+        var responses = OwnerTestFactory.createOwnerResponseList(2);
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(), any()))
+                .willReturn(new PageImpl<>(responses));
+        ObjectMapper binaryMapper = format.equals("application/cbor") ? new CBORMapper() : new SmileMapper();
+
+        byte[] body = mockMvc.perform(get(BASE_URI).accept(format))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(format))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = binaryMapper.readTree(body);
+        assertThat(page.get("elements")).hasSize(2);
+        assertThat(page.get("elements").get(1).get("email").asText()).isEqualTo(responses.get(1).email());
+        assertThat(page.get("totalElements").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?q=... → should pass search text to service")
+    void getAllWithSearchText() throws Exception {
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(), any()))
+                .willReturn(new PageImpl<>(OwnerTestFactory.createOwnerResponseList(1)));
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("q", "ivan 916"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements.length()").value(1));
+
+        verify(ownerService).getAllResponses(any(PageRequest.class), eq(CountMode.EXACT),
+                eq(new OwnerRequestParams(null, null, null, null, "ivan 916")), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"iv", "a b c", "ivan 91", "   "})
+    @DisplayName("GET /api/v1/owners?q=... → should fail on search text with too short words")
+    void getAllWithShortSearchText(String q) throws Exception {
+        mockMvc.perform(get(BASE_URI)
+                        .param("q", q))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.q").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?count=... → should fail on unknown count mode")
+    void getAllWithUnknownCount() throws Exception {
+        mockMvc.perform(get(BASE_URI)
+                        .param("count", "SOMETIMES"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners → should read responses without loading entities")
+    void getAllDoesNotMapEntities() throws Exception {
+        given(ownerService.getAllResponses(any(PageRequest.class), any(), any(), any()))
+                .willReturn(new PageImpl<>(OwnerTestFactory.createOwnerResponseList(1)));
+
+        mockMvc.perform(get(BASE_URI))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements.length()").value(1));
+
+        verifyNoInteractions(ownerMapper);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?mode=KEYSET → should return cursor instead of totals")
+    void getAllKeysetReturnsNextCursor() throws Exception {
+        var owners = OwnerTestFactory.createOwnerList(2);
+        var responses = OwnerTestFactory.createOwnerResponseList(2);
+        Window<Owner> window = Window.from(owners, index -> ScrollPosition.forward(Map.of(
+                "id", owners.get(index).getId(),
+                "user.email", owners.get(index).getUser().getEmail()
+        )), true);
+
+        given(ownerService.getAll(any(KeysetScrollPosition.class), any(Sort.class), eq(2), any()))
+                .willReturn(window);
+        given(ownerMapper.toDto(owners)).willReturn(responses);
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("mode", "KEYSET")
+                        .param("size", "2")
+                        .param("sortBy", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elements.length()").value(2))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andExpect(jsonPath("$.page").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.count").value("NONE"));
+
+        verify(ownerService, never()).getAllResponses(any(PageRequest.class), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?cursor=... → should continue after the cursor row")
+    void getAllKeysetContinuesFromCursor() throws Exception {
+        var owner = OwnerTestFactory.createOwnerList(1).getFirst();
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of(
+                "id", owner.getId(),
+                "user.id", owner.getUser().getId(),
+                "user.email", owner.getUser().getEmail()
+        )), Sort.Direction.ASC);
+        given(ownerService.getAll(any(KeysetScrollPosition.class), any(Sort.class), anyInt(), any()))
+                .willReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("cursor", cursor)
+                        .param("sortBy", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.last").value(true))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        ArgumentCaptor<KeysetScrollPosition> captor = ArgumentCaptor.forClass(KeysetScrollPosition.class);
+        verify(ownerService).getAll(captor.capture(), eq(Sort.by("user.email", "user.id", "id")), anyInt(), any());
+        assertThat(captor.getValue().getKeys())
+                .containsEntry("id", owner.getId())
+                .containsEntry("user.email", owner.getUser().getEmail());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?cursor=... → should fail when cursor was issued for another sort direction")
+    void getAllKeysetCursorForAnotherDirection() throws Exception {
+        var owner = OwnerTestFactory.createOwnerList(1).getFirst();
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of(
+                "id", owner.getId(),
+                "createdAt", owner.getCreatedAt()
+        )), Sort.Direction.DESC);
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("cursor", cursor)
+                        .param("sortBy", "createdAt")
+                        .param("direction", "ASC"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor: it was issued for another sort direction"));
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?cursor=... → should fail when cursor was issued for another sorting")
+    void getAllKeysetCursorForAnotherSorting() throws Exception {
+        var owner = OwnerTestFactory.createOwnerList(1).getFirst();
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of(
+                "id", owner.getId(),
+                "user.id", owner.getUser().getId(),
+                "user.email", owner.getUser().getEmail()
+        )), Sort.Direction.ASC);
+
+        mockMvc.perform(get(BASE_URI)
+                        .param("cursor", cursor)
+                        .param("sortBy", "phone"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners?cursor=... → should fail when cursor is malformed")
+    void getAllKeysetMalformedCursor() throws Exception {
+        mockMvc.perform(get(BASE_URI)
+                        .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
     @Test
     @DisplayName("GET /api/v1/owners → should fail when invalid sort field is provided")
     void getAllInvalidSortField() throws Exception {
@@ -181,19 +522,106 @@ class OwnerControllerTest {
                         .value(String.format("User with email '%s' already exists", request.email())));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/owners/bulk → should fail as existing email when database rejects duplicate")
+    void registerAllConcurrentDuplicateEmail() throws Exception {
+        var request = OwnerTestFactory.createOwnerCreationRequest();
+        var violation = new ConstraintViolationException(
+                "duplicate key", new SQLException("duplicate key", "23505"),
+                ConstraintViolationException.ConstraintKind.UNIQUE, "users_email_key"
+        );
+        given(ownerService.registerAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("could not execute batch", violation));
+
+        mockMvc.perform(post(BASE_URI + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OwnerBulkCreationRequest(List.of(request)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("User with the same email already exists"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/owners/bulk → should fail as internal error on other integrity violations")
+    void registerAllOtherIntegrityViolation() throws Exception {
+        var request = OwnerTestFactory.createOwnerCreationRequest();
+        given(ownerService.registerAll(anyList()))
+                .willThrow(new DataIntegrityViolationException("not null"));
+
+        mockMvc.perform(post(BASE_URI + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OwnerBulkCreationRequest(List.of(request)))))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/batch → should return found owners and missing ids")
+    void getAllByIdsSuccessfully() throws Exception {
+        final UUID id = UUID.randomUUID();
+        final UUID missingId = UUID.randomUUID();
+        OwnerResponse response = OwnerTestFactory.createOwnerResponse(id, UUID.randomUUID());
+
+        given(ownerService.getAllByIds(List.of(id, missingId)))
+                .willReturn(new OwnerLookupResult(List.of(response), List.of(missingId)));
+
+        mockMvc.perform(get(BASE_URI + "/batch").param("ids", id + "," + missingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.owners.length()").value(1))
+                .andExpect(jsonPath("$.owners[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId.toString()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/batch → should fail on too many ids")
+    void getAllByIdsTooMany() throws Exception {
+        String[] ids = new String[101];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+
+        mockMvc.perform(get(BASE_URI + "/batch").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.details.ids").exists());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/batch → should fail on malformed id")
+    void getAllByIdsMalformed() throws Exception {
+        mockMvc.perform(get(BASE_URI + "/batch").param("ids", "not-a-uuid"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/{id}?fields=... → should return only requested fields")
+    void getByIdWithFields() throws Exception {
+        final UUID id = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        OwnerResponse response = OwnerTestFactory.createOwnerResponse(id, userId);
+
+        given(ownerService.getById(id)).willReturn(new OwnerSnapshot(response, new OwnerVersion(0, 0)));
+
+        mockMvc.perform(get(BASE_URI + "/" + id).param("fields", "firstName"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0\""))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.firstName").value(response.firstName()));
+    }
+
     @Test
     @DisplayName("GET /api/v1/owners/{id} → should return owner by ID")
     void getByIdSuccessfully() throws Exception {
         final UUID id = UUID.randomUUID();
         final UUID userId = UUID.randomUUID();
-        Owner owner = OwnerTestFactory.createOwner(id, userId);
         OwnerResponse response = OwnerTestFactory.createOwnerResponse(id, userId);
 
-        given(ownerService.getById(id)).willReturn(owner);
-        given(ownerMapper.toDto(owner)).willReturn(response);
+        given(ownerService.getById(id)).willReturn(new OwnerSnapshot(response, new OwnerVersion(0, 0)));
 
         mockMvc.perform(get(BASE_URI + "/" + id))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0\""))
                 .andExpect(jsonPath("$.email").value(response.email()))
                 .andExpect(jsonPath("$.lastName").value(response.lastName()))
                 .andExpect(jsonPath("$.phone").value(response.phone()))
@@ -210,9 +638,8 @@ class OwnerControllerTest {
         Owner owner = OwnerTestFactory.createOwner(id, userId);
         OwnerResponse updatedResponse = OwnerTestFactory.createUpdatedOwnerResponse(id, userId, updateRequest);
 
-        given(ownerService.getById(id)).willReturn(owner);
         doNothing().when(ownerMapper).updateOwnerFromRequest(any(), any());
-        given(ownerService.update(any(UUID.class), any(OwnerUpdateRequest.class))).willReturn(owner);
+        given(ownerService.update(any(UUID.class), any(OwnerUpdateRequest.class), isNull())).willReturn(owner);
         given(ownerMapper.toDto(any(Owner.class))).willReturn(updatedResponse);
 
         mockMvc.perform(put(BASE_URI + "/" + id)
@@ -226,12 +653,133 @@ class OwnerControllerTest {
                 .andExpect(jsonPath("$.firstName").value(updatedResponse.firstName()));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/owners/{id} → should return 304 without loading owner when ETag matches")
+    void getByIdNotModified() throws Exception {
+        final UUID id = UUID.randomUUID();
+        given(ownerService.getVersion(id)).willReturn(new OwnerVersion(3, 1));
+
+        mockMvc.perform(get(BASE_URI + "/" + id)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2.1\", W/\"3.1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.1\""))
+                .andExpect(content().string(""));
+
+        verify(ownerService, never()).getById(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/{id} → should return owner with new ETag when ETag is outdated")
+    void getByIdModified() throws Exception {
+        final UUID id = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        given(ownerService.getVersion(id)).willReturn(new OwnerVersion(4, 0));
+        given(ownerService.getById(id)).willReturn(
+                new OwnerSnapshot(OwnerTestFactory.createOwnerResponse(id, userId), new OwnerVersion(4, 0)));
+
+        mockMvc.perform(get(BASE_URI + "/" + id)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4.0\""))
+                .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/owners/{id} → should pass version from If-Match to service")
+    void updateWithIfMatch() throws Exception {
+        final UUID id = UUID.randomUUID();
+        final UUID userId = UUID.randomUUID();
+        OwnerUpdateRequest updateRequest = OwnerTestFactory.createOwnerUpdateRequest();
+        Owner owner = OwnerTestFactory.createOwner(id, userId);
+        owner.setVersion(3L);
+        given(ownerService.update(eq(id), any(OwnerUpdateRequest.class), eq(new OwnerVersion(2, 0))))
+                .willReturn(owner);
+        given(ownerMapper.toDto(owner)).willReturn(OwnerTestFactory.createUpdatedOwnerResponse(id, userId, updateRequest));
+
+        mockMvc.perform(put(BASE_URI + "/" + id)
+                        .header(HttpHeaders.IF_MATCH, "\"2.0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3.0\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/owners/{id} → should return 412 when owner has another version")
+    void updateVersionMismatch() throws Exception {
+        final UUID id = UUID.randomUUID();
+        given(ownerService.update(eq(id), any(OwnerUpdateRequest.class), any(OwnerVersion.class)))
+                .willThrow(new EntityVersionMismatchException("Owner", "id", id.toString()));
+
+        mockMvc.perform(put(BASE_URI + "/" + id)
+                        .header(HttpHeaders.IF_MATCH, "\"2.0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OwnerTestFactory.createOwnerUpdateRequest())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value(
+                        "Owner with id '" + id + "' has been modified, expected version doesn't match"));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/owners/{id} → should return 412 without update when If-Match is not owner ETag")
+    void updateUnknownIfMatch() throws Exception {
+        final UUID id = UUID.randomUUID();
+
+        mockMvc.perform(put(BASE_URI + "/" + id)
+                        .header(HttpHeaders.IF_MATCH, "W/\"2.0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OwnerTestFactory.createOwnerUpdateRequest())))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(ownerService, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/owners/{id} → should return 412 when owner is updated concurrently")
+    void updateConcurrently() throws Exception {
+        final UUID id = UUID.randomUUID();
+        given(ownerService.update(eq(id), any(OwnerUpdateRequest.class), isNull()))
+                .willThrow(new ObjectOptimisticLockingFailureException(Owner.class, id));
+
+        mockMvc.perform(put(BASE_URI + "/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OwnerTestFactory.createOwnerUpdateRequest())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Entity has been modified concurrently"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/{id} → should return 503 when database connection is not available in time")
+    void getByIdConnectionUnavailable() throws Exception {
+        final UUID id = UUID.randomUUID();
+        given(ownerService.getById(id)).willThrow(new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("Too many requests are waiting for database connection")
+        ));
+
+        mockMvc.perform(get(BASE_URI + "/" + id))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Service is overloaded, try again later"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/{id} → should fail as internal error when transaction can't be opened otherwise")
+    void getByIdTransactionFailure() throws Exception {
+        final UUID id = UUID.randomUUID();
+        given(ownerService.getById(id)).willThrow(new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction", new SQLException("connection refused")
+        ));
+
+        mockMvc.perform(get(BASE_URI + "/" + id))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     @DisplayName("DELETE /api/v1/owners/{id} - should delete and return 204")
     void deleteReturnsNoContent() throws Exception {
         final UUID id = UUID.randomUUID();
 
-        doNothing().when(ownerService).deleteById(id);
+        given(ownerService.deleteById(id)).willReturn(true);
 
         mockMvc.perform(delete(BASE_URI + "/" + id))
                 .andExpect(status().isNoContent());
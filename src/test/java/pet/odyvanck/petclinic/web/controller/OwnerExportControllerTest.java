@@ -0,0 +1,136 @@
+package pet.odyvanck.petclinic.web.controller;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import pet.odyvanck.petclinic.data.OwnerTestFactory;
+import pet.odyvanck.petclinic.service.OwnerService;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OwnerExportControllerTest {
+
+    private MockMvc mockMvc;
+    private OwnerService ownerService;
+    private static final String BASE_URI = "/api/v1/owners/export";
+
+    @BeforeEach
+    void setup() {
+        ownerService = mock(OwnerService.class);
+
+        var controller = new OwnerExportController(ownerService, Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/export → should stream one JSON object per line by default")
+    void exportNdjson() throws Exception {
+        givenExported(OwnerTestFactory.createOwnerResponseList(2));
+
+        MvcResult started = mockMvc.perform(get(BASE_URI))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(OwnerExportController.EXPORT_TIMEOUT.toMillis());
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"owners.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n"))
+                .containsExactly(
+                        "{\"id\":\"00000000-0000-0000-0000-000000000001\",\"userId\":\"00000000-0000-0000-0000-000000000002\","
+                                + "\"firstName\":\"firstName1\",\"lastName\":\"lastName1\",\"phone\":\"+1000000001\","
+                                + "\"email\":\"email1@example.com\",\"address\":\"address Street 1\","
+                                + "\"createdAt\":\"1970-01-01T00:00:00\",\"updatedAt\":\"1970-01-03T00:00:00\"}",
+                        "{\"id\":\"00000000-0000-0000-0000-000000000002\",\"userId\":\"00000000-0000-0000-0000-000000000003\","
+                                + "\"firstName\":\"firstName2\",\"lastName\":\"lastName2\",\"phone\":\"+1000000002\","
+                                + "\"email\":\"email2@example.com\",\"address\":\"address Street 2\","
+                                + "\"createdAt\":\"1970-01-01T00:00:00\",\"updatedAt\":\"1970-01-03T00:00:00\"}"
+                );
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/export?format=CSV → should stream CSV with header and quoted values")
+    void exportCsv() throws Exception {
+        var response = OwnerTestFactory.createOwnerResponseList(1).getFirst();
+        givenExported(List.of(new OwnerResponse(
+                response.id(), response.userId(), response.firstName(), response.lastName(), response.phone(),
+                response.email(), "1 Main St, \"Corner\"", response.createdAt(), response.updatedAt()
+        )));
+
+        MvcResult started = mockMvc.perform(get(BASE_URI).param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(
+                        "id,userId,firstName,lastName,phone,email,address,createdAt,updatedAt\r\n"
+                                + "00000000-0000-0000-0000-000000000001,00000000-0000-0000-0000-000000000002,"
+                                + "firstName1,lastName1,+1000000001,email1@example.com,"
+                                + "\"1 Main St, \"\"Corner\"\"\",1970-01-01T00:00,1970-01-03T00:00\r\n"
+                ));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/export?lastName=... → should pass filters to service")
+    void exportPassesFilters() throws Exception {
+        givenExported(List.of());
+
+        MvcResult started = mockMvc.perform(get(BASE_URI)
+                        .param("lastName", "smith")
+                        .param("phone", "+1000000001"))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+
+        ArgumentCaptor<OwnerRequestParams> captor = ArgumentCaptor.forClass(OwnerRequestParams.class);
+        verify(ownerService).exportResponses(captor.capture(), any());
+        assertThat(captor.getValue()).isEqualTo(new OwnerRequestParams(null, "+1000000001", null, "smith", null));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/owners/export?format=... → should fail on unknown format")
+    void exportUnknownFormat() throws Exception {
+        mockMvc.perform(get(BASE_URI).param("format", "XML"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value of parameter 'format': XML"));
+
+        verifyNoInteractions(ownerService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenExported(List<OwnerResponse> responses) {
+        willAnswer(invocation -> {
+            Consumer<OwnerResponse> consumer = invocation.getArgument(1);
+            responses.forEach(consumer);
+            return null;
+        }).given(ownerService).exportResponses(any(OwnerRequestParams.class), any(Consumer.class));
+    }
+}
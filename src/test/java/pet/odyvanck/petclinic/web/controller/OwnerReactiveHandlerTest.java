@@ -0,0 +1,174 @@
+package pet.odyvanck.petclinic.web.controller;
+
+import io.r2dbc.spi.R2dbcTimeoutException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import pet.odyvanck.petclinic.data.OwnerTestFactory;
+import pet.odyvanck.petclinic.domain.error.EntityNotFoundException;
+import pet.odyvanck.petclinic.service.OwnerReactiveService;
+import pet.odyvanck.petclinic.web.ReactiveWebConfiguration;
+import pet.odyvanck.petclinic.web.dto.CountMode;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerRequestParams;
+import pet.odyvanck.petclinic.web.dto.owner.OwnerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class OwnerReactiveHandlerTest {
+
+    private WebTestClient webTestClient;
+    private OwnerReactiveService ownerReactiveService;
+
+    @BeforeEach
+    void setup() {
+        ownerReactiveService = mock(OwnerReactiveService.class);
+        var handler = new OwnerReactiveHandler(
+                ownerReactiveService, Validation.buildDefaultValidatorFactory().getValidator()
+        );
+        webTestClient = WebTestClient
+                .bindToRouterFunction(new ReactiveWebConfiguration().ownerReactiveRoutes(handler))
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /owners → should return page of owners with sorting of MVC API")
+    void getAllOwnersSuccessfully() {
+        OwnerResponse owner = OwnerTestFactory.createOwnerResponse(UUID.randomUUID(), UUID.randomUUID());
+        PageRequest pageRequest = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "user.email"));
+        given(ownerReactiveService.getAllResponses(any(), any(), any()))
+                .willReturn(Mono.just(new PageImpl<>(List.of(owner), pageRequest, 6)));
+
+        webTestClient.get().uri("/owners?page=1&size=5&sortBy=email&direction=DESC&firstName=first")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.elements[0].id").isEqualTo(owner.id().toString())
+                .jsonPath("$.elements[0].email").isEqualTo(owner.email())
+                .jsonPath("$.totalElements").isEqualTo(6)
+                .jsonPath("$.count").isEqualTo("EXACT");
+
+        verify(ownerReactiveService).getAllResponses(eq(pageRequest), eq(CountMode.EXACT),
+                eq(new OwnerRequestParams(null, null, "first", null, null)));
+    }
+
+    @Test
+    @DisplayName("GET /owners?count=NONE → should return hasNext instead of totals")
+    void getAllWithoutCount() {
+        given(ownerReactiveService.getAllResponses(any(), eq(CountMode.NONE), any()))
+                .willReturn(Mono.just(new SliceImpl<>(List.of(), PageRequest.of(0, 10), true)));
+
+        webTestClient.get().uri("/owners?count=NONE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.last").isEqualTo(false)
+                .jsonPath("$.count").isEqualTo("NONE")
+                .jsonPath("$.totalElements").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("GET /owners → should fail validation like MVC API")
+    void getAllValidationError() {
+        webTestClient.get().uri("/owners?size=0&sortBy=password&q=ab")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation errors in request data")
+                .jsonPath("$.details.size").exists()
+                .jsonPath("$.details.sortBy").exists()
+                .jsonPath("$.details.q").exists();
+
+        verifyNoInteractions(ownerReactiveService);
+    }
+
+    @Test
+    @DisplayName("GET /owners?count=... → should fail on unknown count mode")
+    void getAllWithInvalidCountMode() {
+        webTestClient.get().uri("/owners?count=SOMETIMES")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value of parameter 'count': SOMETIMES");
+    }
+
+    @Test
+    @DisplayName("GET /owners?mode=KEYSET → should fail, keyset pages are served by MVC API only")
+    void getAllWithKeysetMode() {
+        webTestClient.get().uri("/owners?mode=KEYSET")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(ownerReactiveService);
+    }
+
+    @Test
+    @DisplayName("GET /owners → should return 503 when no database connection is available in time")
+    void getAllWhenPoolIsExhausted() {
+        given(ownerReactiveService.getAllResponses(any(), any(), any()))
+                .willReturn(Mono.error(new DataAccessResourceFailureException(
+                        "Failed to obtain R2DBC Connection", new R2dbcTimeoutException("timeout"))));
+
+        webTestClient.get().uri("/owners")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("SERVICE_UNAVAILABLE");
+    }
+
+    @Test
+    @DisplayName("GET /owners/{id} → should return owner")
+    void getByIdSuccessfully() {
+        UUID id = UUID.randomUUID();
+        OwnerResponse owner = OwnerTestFactory.createOwnerResponse(id, UUID.randomUUID());
+        given(ownerReactiveService.getResponseById(id)).willReturn(Mono.just(owner));
+
+        webTestClient.get().uri("/owners/" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(id.toString())
+                .jsonPath("$.address").isEqualTo(owner.address());
+    }
+
+    @Test
+    @DisplayName("GET /owners/{id} → should return 404 when owner doesn't exist")
+    void getByIdNotFound() {
+        UUID id = UUID.randomUUID();
+        given(ownerReactiveService.getResponseById(id))
+                .willReturn(Mono.error(new EntityNotFoundException("Owner", "id", id.toString())));
+
+        webTestClient.get().uri("/owners/" + id)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Owner with id '" + id + "' not found");
+    }
+
+    @Test
+    @DisplayName("GET /owners/{id} → should fail on malformed id")
+    void getByMalformedId() {
+        webTestClient.get().uri("/owners/not-a-uuid")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid value of parameter 'id': not-a-uuid");
+
+        verifyNoInteractions(ownerReactiveService);
+    }
+}
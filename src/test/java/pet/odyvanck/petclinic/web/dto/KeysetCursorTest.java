@@ -0,0 +1,53 @@
+package pet.odyvanck.petclinic.web.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import pet.odyvanck.petclinic.web.dto.validation.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Cursor keeps sort direction, keys, their order and value types")
+    void encodeAndDecode() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("id", UUID.randomUUID());
+        keys.put("user.email", "o'neil+pets@example.com");
+        keys.put("createdAt", LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000));
+        keys.put("user.lastName", "Smith & Sons = 100%");
+
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys), Sort.Direction.DESC);
+        KeysetCursor.Decoded decoded = KeysetCursor.decode(cursor);
+        KeysetScrollPosition position = decoded.position();
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(decoded.direction()).isEqualTo(Sort.Direction.DESC);
+        assertThat(position.getDirection()).isEqualTo(ScrollPosition.Direction.FORWARD);
+        assertThat(position.getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    @DisplayName("Malformed cursor is rejected")
+    void decodeMalformed() {
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("aWQ9dW5vdC1hLXV1aWQ"))
+                .isInstanceOf(InvalidCursorException.class);
+        // cursor without sort direction: "id=u" + uuid
+        assertThatThrownBy(() -> KeysetCursor.decode(Base64.getUrlEncoder().encodeToString(
+                ("id=u" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}